@@ -0,0 +1,123 @@
+package ni.org.jug.subtiava.benchmark;
+
+import ni.org.jug.subtiava.text.Cedula;
+import ni.org.jug.subtiava.text.CedulaValidation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de validar y construir cedulas. Las entradas invalidas se agrupan segun la regla que las rechaza, ya que cada
+ * regla termina la validacion en un punto distinto.
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CedulaBenchmark {
+    private static final int INPUT_SIZE = 1024;
+    private static final int INPUT_MASK = INPUT_SIZE - 1;
+
+    public enum Input {
+        VALID,
+        INVALID_LENGTH,
+        INVALID_CHARACTER,
+        INVALID_DATE,
+        INVALID_CHECK_DIGIT
+    }
+
+    @Param
+    private Input input;
+
+    private String[] cedulas;
+    private byte[] records;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cedulas = new String[INPUT_SIZE];
+        Random random = new Random(INPUT_SIZE);
+        records = new byte[INPUT_SIZE * Cedula.NATIONAL_ID_LENGTH];
+        Arrays.fill(records, (byte) ' ');
+        for (int i = 0; i < INPUT_SIZE; i++) {
+            cedulas[i] = cedula(random, input);
+            byte[] record = cedulas[i].getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(record, 0, records, i * Cedula.NATIONAL_ID_LENGTH, record.length);
+        }
+    }
+
+    private static String cedula(Random random, Input input) {
+        int day = 1 + random.nextInt(28);
+        if (input == Input.INVALID_DATE) {
+            day = 32 + random.nextInt(68);
+        }
+        String base = String.format("%03d%02d%02d%02d%04d", random.nextInt(1000), day, 1 + random.nextInt(12),
+                random.nextInt(100), random.nextInt(10_000));
+        int index = (int) (Long.parseLong(base) % Cedula.VALID_CHARACTERS.length());
+        if (input == Input.INVALID_CHECK_DIGIT) {
+            index = (index + 1) % Cedula.VALID_CHARACTERS.length();
+        }
+        String cedula = base + Cedula.VALID_CHARACTERS.charAt(index);
+
+        switch (input) {
+            case INVALID_LENGTH:
+                return cedula.substring(1);
+            case INVALID_CHARACTER:
+                return cedula.substring(0, 5) + 'O' + cedula.substring(6);
+            default:
+                return cedula;
+        }
+    }
+
+    private String next() {
+        return cedulas[cursor++ & INPUT_MASK];
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return Cedula.validate(next());
+    }
+
+    @Benchmark
+    public CedulaValidation check() {
+        return Cedula.check(next());
+    }
+
+    /**
+     * Valida las {@link #INPUT_SIZE} cedulas como registros de longitud fija.
+     */
+    @Benchmark
+    @OperationsPerInvocation(INPUT_SIZE)
+    public long[] validateRecords() {
+        return Cedula.validateRecords(records, 0, INPUT_SIZE, Cedula.NATIONAL_ID_LENGTH);
+    }
+
+    @Benchmark
+    public Cedula of() {
+        try {
+            return Cedula.of(next());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
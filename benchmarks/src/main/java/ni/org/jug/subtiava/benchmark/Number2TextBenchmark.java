@@ -0,0 +1,127 @@
+package ni.org.jug.subtiava.benchmark;
+
+import ni.org.jug.subtiava.text.ConversionType;
+import ni.org.jug.subtiava.text.EnglishNumber2Text;
+import ni.org.jug.subtiava.text.EventType;
+import ni.org.jug.subtiava.text.Number2Text;
+import ni.org.jug.subtiava.text.Number2TextConverter;
+import ni.org.jug.subtiava.text.NumberConversionCustomizer;
+import ni.org.jug.subtiava.text.SpanishNumber2Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de convertir numeros a texto, en espanol e ingles, segun la cantidad de digitos del numero. Cada iteracion toma
+ * el siguiente numero de un arreglo precalculado, de manera que el JIT no pueda tratar la entrada como una constante.
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class Number2TextBenchmark {
+    private static final int INPUT_SIZE = 1024;
+    private static final int INPUT_MASK = INPUT_SIZE - 1;
+
+    private static final NumberConversionCustomizer CUSTOMIZER = (eventType, conversionType, event, output) -> {
+        if (eventType == EventType.BEFORE && conversionType != ConversionType.MAGNITUDE) {
+            output.append("** ");
+        }
+    };
+
+    @Param({"es", "en"})
+    private String language;
+
+    @Param({"1", "3", "6", "9", "13"})
+    private int digits;
+
+    private boolean spanish;
+    private Number2TextConverter converter;
+    private long[] numbers;
+    private BigDecimal[] amounts;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        spanish = "es".equals(language);
+        converter = spanish ? Number2Text.spanish() : Number2Text.english();
+        numbers = new long[INPUT_SIZE];
+        amounts = new BigDecimal[INPUT_SIZE];
+
+        Random random = new Random(digits);
+        long lowerBound = digits == 1 ? 0 : pow10(digits - 1);
+        long range = pow10(digits) - lowerBound;
+        for (int i = 0; i < INPUT_SIZE; i++) {
+            numbers[i] = lowerBound + (long) (random.nextDouble() * range);
+            amounts[i] = BigDecimal.valueOf(numbers[i]).add(BigDecimal.valueOf(random.nextInt(100), 2));
+        }
+    }
+
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+
+    private int next() {
+        return cursor++ & INPUT_MASK;
+    }
+
+    @Benchmark
+    public String toText() {
+        long number = numbers[next()];
+        Number2Text number2Text = spanish ? new SpanishNumber2Text(number) : new EnglishNumber2Text(number);
+        return number2Text.toText();
+    }
+
+    @Benchmark
+    public String toTextWithCustomizer() {
+        long number = numbers[next()];
+        Number2Text number2Text = spanish ? new SpanishNumber2Text(number, CUSTOMIZER) : new EnglishNumber2Text(number, CUSTOMIZER);
+        return number2Text.toText();
+    }
+
+    @Benchmark
+    public String toTextFromBigDecimal() {
+        BigDecimal amount = amounts[next()];
+        Number2Text number2Text = spanish ? new SpanishNumber2Text(amount) : new EnglishNumber2Text(amount);
+        return number2Text.toText();
+    }
+
+    @Benchmark
+    public String toTextFromBigDecimalWithCustomizer() {
+        BigDecimal amount = amounts[next()];
+        Number2Text number2Text = spanish ? new SpanishNumber2Text(amount, CUSTOMIZER) : new EnglishNumber2Text(amount, CUSTOMIZER);
+        return number2Text.toText();
+    }
+
+    @Benchmark
+    public String convert() {
+        return converter.convert(numbers[next()]);
+    }
+
+    @Benchmark
+    public String convertBigDecimal() {
+        return converter.convert(amounts[next()]);
+    }
+}
@@ -0,0 +1,256 @@
+package ni.org.jug.subtiava.text.processor;
+
+import ni.org.jug.subtiava.text.Number2TextLanguage;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+import java.util.Set;
+
+/**
+ * <p>
+ * Procesador de anotaciones que genera una subclase de {@link ni.org.jug.subtiava.text.Number2Text} por cada tipo anotado con
+ * {@link Number2TextLanguage}. La traduccion de los 1000 grupos posibles (en su forma normal y con la forma corta del uno) y de las
+ * partes decimales 0 a 99 se calcula en tiempo de compilacion y se escribe en arreglos constantes de la clase generada.
+ * </p>
+ * <p>
+ * El procesador se registra en {@code META-INF/services/javax.annotation.processing.Processor}, por lo que basta con tener la
+ * libreria en el classpath del compilador.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+@SupportedAnnotationTypes("ni.org.jug.subtiava.text.Number2TextLanguage")
+public class Number2TextLanguageProcessor extends AbstractProcessor {
+    private static final String TEXT_PACKAGE = "ni.org.jug.subtiava.text";
+    private static final int GROUP_SIZE = 1000;
+    private static final int DECIMAL_FRACTION_SIZE = 100;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Number2TextLanguage.class)) {
+            Number2TextLanguage language = element.getAnnotation(Number2TextLanguage.class);
+            try {
+                generate(element, language);
+            } catch (IllegalArgumentException ex) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, ex.getMessage(), element);
+            } catch (IOException ex) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write the class [" + language.name() +
+                        "]: " + ex.getMessage(), element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(Element element, Number2TextLanguage language) throws IOException {
+        validate(language);
+
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(element);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String className = packageName.isEmpty() ? language.name() : packageName + "." + language.name();
+
+        String[] groups = groups(language, false);
+        String[] shortGroups = groups(language, true);
+        boolean sameGroups = Arrays.equals(groups, shortGroups);
+
+        String[] decimalFractions = new String[DECIMAL_FRACTION_SIZE];
+        for (int decimal = 0; decimal < DECIMAL_FRACTION_SIZE; decimal++) {
+            decimalFractions[decimal] = String.format(language.decimalFraction(), decimal);
+        }
+
+        StringBuilder source = new StringBuilder(64 * 1024);
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        if (!TEXT_PACKAGE.equals(packageName)) {
+            source.append("import ").append(TEXT_PACKAGE).append(".Number2Text;\n");
+            source.append("import ").append(TEXT_PACKAGE).append(".NumberConversionCustomizer;\n\n");
+        }
+        source.append("import java.math.BigDecimal;\n\n")
+                .append("/**\n")
+                .append(" * Generado por {@code ").append(getClass().getName()).append("} a partir de {@link ")
+                .append(((TypeElement) element).getQualifiedName()).append("}. No modificar.\n")
+                .append(" */\n")
+                .append("public final class ").append(language.name()).append(" extends Number2Text {\n");
+
+        appendArray(source, "GROUPS", groups);
+        if (sameGroups) {
+            source.append("    private static final String[] SHORT_GROUPS = GROUPS;\n\n");
+        } else {
+            appendArray(source, "SHORT_GROUPS", shortGroups);
+        }
+        appendArray(source, "DECIMAL_FRACTIONS", decimalFractions);
+        source.append("    private static final String DECIMAL_FRACTION = ").append(literal(language.decimalFraction())).append(";\n\n");
+
+        String[] constructors = {"long number", "long number, NumberConversionCustomizer customizer",
+                "long number, int decimal, NumberConversionCustomizer customizer", "BigDecimal amount",
+                "BigDecimal amount, NumberConversionCustomizer customizer"};
+        String[] arguments = {"number", "number, customizer", "number, decimal, customizer", "amount", "amount, customizer"};
+        for (int i = 0; i < constructors.length; i++) {
+            source.append("    public ").append(language.name()).append('(').append(constructors[i]).append(") {\n")
+                    .append("        super(").append(arguments[i]).append(");\n")
+                    .append("    }\n\n");
+        }
+
+        String[] thousand = language.thousand();
+        String[] million = language.million();
+        String[] trillion = language.trillion();
+        appendMagnitude(source, "tenToTheTwelfthPower", "value == 1 ? " + literal(singular(trillion)) + " : " + literal(plural(trillion)));
+        if (language.longScale()) {
+            appendMagnitude(source, "tenToTheNinthPower", "module >= 1_000_000 ? " + literal(plural(thousand)) + " : " +
+                    literal(plural(thousand) + " " + plural(million)));
+        } else {
+            String[] billion = language.billion();
+            appendMagnitude(source, "tenToTheNinthPower", "value == 1 ? " + literal(singular(billion)) + " : " + literal(plural(billion)));
+        }
+        appendMagnitude(source, "tenToTheSixthPower", "value == 1 ? " + literal(singular(million)) + " : " + literal(plural(million)));
+        appendMagnitude(source, "tenToTheThirdPower", "value == 1 ? " + literal(singular(thousand)) + " : " + literal(plural(thousand)));
+
+        for (String method : new String[]{"unit", "ten", "hundred"}) {
+            source.append("    @Override\n")
+                    .append("    protected String ").append(method).append("(int value, long module, int index) {\n")
+                    .append("        return group(value, module, index);\n")
+                    .append("    }\n\n");
+        }
+        source.append("    private static String group(int value, long module, int index) {\n")
+                .append("        return (module == 0 && index == 0 ? GROUPS : SHORT_GROUPS)[value];\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    protected boolean isStateless() {\n")
+                .append("        return true;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    protected String withDecimalFraction() {\n")
+                .append("        return withDecimalFraction(getDecimal());\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    protected String withDecimalFraction(int decimal) {\n")
+                .append("        return decimal < DECIMAL_FRACTIONS.length ? DECIMAL_FRACTIONS[decimal] : String.format(DECIMAL_FRACTION, decimal);\n")
+                .append("    }\n")
+                .append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(className, element).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private static void validate(Number2TextLanguage language) {
+        checkLength("units", language.units(), 10, 10);
+        checkLength("teens", language.teens(), 10, 10);
+        checkLength("tens", language.tens(), 8, 8);
+        checkLength("hundreds", language.hundreds(), 9, 9);
+        checkLength("thousand", language.thousand(), 1, 2);
+        checkLength("million", language.million(), 1, 2);
+        checkLength("trillion", language.trillion(), 1, 2);
+        if (!language.longScale()) {
+            checkLength("billion", language.billion(), 1, 2);
+        }
+        if (!SourceVersion.isIdentifier(language.name()) || SourceVersion.isKeyword(language.name())) {
+            throw new IllegalArgumentException("[name] must be a valid class name: " + language.name());
+        }
+        try {
+            String.format(language.decimalFraction(), 0);
+        } catch (IllegalFormatException ex) {
+            throw new IllegalArgumentException("[decimalFraction] must be a valid format for an integer: " + ex.getMessage());
+        }
+    }
+
+    private static void checkLength(String attribute, String[] values, int min, int max) {
+        if (values.length < min || values.length > max) {
+            String expected = min == max ? String.valueOf(min) : min + " or " + max;
+            throw new IllegalArgumentException("[" + attribute + "] must have " + expected + " values, found " + values.length);
+        }
+    }
+
+    private static String singular(String[] forms) {
+        return forms[0];
+    }
+
+    private static String plural(String[] forms) {
+        return forms[forms.length - 1];
+    }
+
+    /**
+     * Traduce los grupos 0 a 999. Si {@code useUnitOne} es {@code true}, el uno al final del grupo se traduce con
+     * {@link Number2TextLanguage#unitOne()}.
+     */
+    static String[] groups(Number2TextLanguage language, boolean useUnitOne) {
+        String[] groups = new String[GROUP_SIZE];
+        for (int value = 0; value < GROUP_SIZE; value++) {
+            int hundred = value / 100;
+            int rest = value % 100;
+            if (hundred == 0) {
+                groups[value] = belowHundred(language, value, useUnitOne);
+            } else if (rest == 0) {
+                groups[value] = hundred == 1 && !language.exactHundred().isEmpty() ? language.exactHundred() :
+                        language.hundreds()[hundred - 1];
+            } else {
+                groups[value] = language.hundreds()[hundred - 1] + language.hundredsSeparator() +
+                        belowHundred(language, rest, useUnitOne);
+            }
+        }
+        return groups;
+    }
+
+    private static String belowHundred(Number2TextLanguage language, int value, boolean useUnitOne) {
+        if (value < 10) {
+            return value == 1 && useUnitOne && !language.unitOne().isEmpty() ? language.unitOne() : language.units()[value];
+        } else if (value < 20) {
+            return language.teens()[value - 10];
+        }
+        String ten = language.tens()[value / 10 - 2];
+        int unit = value % 10;
+        return unit == 0 ? ten : ten + language.tensSeparator() + belowHundred(language, unit, useUnitOne);
+    }
+
+    private static void appendMagnitude(StringBuilder source, String method, String expression) {
+        source.append("    @Override\n")
+                .append("    protected String ").append(method).append("(int value, long module) {\n")
+                .append("        return ").append(expression).append(";\n")
+                .append("    }\n\n");
+    }
+
+    private static void appendArray(StringBuilder source, String name, String[] values) {
+        source.append("    private static final String[] ").append(name).append(" = {");
+        for (int i = 0; i < values.length; i++) {
+            source.append(i % 4 == 0 ? "\n            " : " ").append(literal(values[i]));
+            if (i < values.length - 1) {
+                source.append(',');
+            }
+        }
+        source.append("\n    };\n\n");
+    }
+
+    /**
+     * Devuelve el literal de Java del texto. Los caracteres que no son ASCII se escriben como secuencias {@code \\uXXXX}.
+     */
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char current = value.charAt(i);
+            if (current == '"' || current == '\\') {
+                literal.append('\\').append(current);
+            } else if (current < 0x20 || current > 0x7E) {
+                literal.append(String.format("\\u%04X", (int) current));
+            } else {
+                literal.append(current);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,88 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class Number2TextLanguageProcessorTest {
+
+    @Number2TextLanguage(
+            name = "GeneratedSpanishNumber2Text",
+            units = {"cero", "uno", "dos", "tres", "cuatro", "cinco", "seis", "siete", "ocho", "nueve"},
+            unitOne = "un",
+            teens = {"diez", "once", "doce", "trece", "catorce", "quince", "diez y seis", "diez y siete", "diez y ocho",
+                    "diez y nueve"},
+            tens = {"veinte", "treinta", "cuarenta", "cincuenta", "sesenta", "setenta", "ochenta", "noventa"},
+            tensSeparator = " y ",
+            hundreds = {"ciento", "doscientos", "trescientos", "cuatrocientos", "quinientos", "seiscientos", "setecientos",
+                    "ochocientos", "novecientos"},
+            exactHundred = "cien",
+            thousand = "mil",
+            million = {"millon", "millones"},
+            trillion = {"billon", "billones"},
+            longScale = true,
+            decimalFraction = "con %d/100")
+    interface Spanish {
+    }
+
+    @Number2TextLanguage(
+            name = "GeneratedEnglishNumber2Text",
+            units = {"zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"},
+            teens = {"ten", "eleven", "twelve", "thirteen", "fourteen", "fifteen", "sixteen", "seventeen", "eighteen", "nineteen"},
+            tens = {"twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety"},
+            tensSeparator = "-",
+            hundreds = {"one hundred", "two hundred", "three hundred", "four hundred", "five hundred", "six hundred",
+                    "seven hundred", "eight hundred", "nine hundred"},
+            thousand = "thousand",
+            million = "million",
+            billion = "billion",
+            trillion = "trillion",
+            decimalFraction = "with %d/100")
+    interface English {
+    }
+
+    @Number2TextLanguage(
+            name = "PortugueseNumber2Text",
+            units = {"zero", "um", "dois", "tr\u00EAs", "quatro", "cinco", "seis", "sete", "oito", "nove"},
+            teens = {"dez", "onze", "doze", "treze", "catorze", "quinze", "dezesseis", "dezessete", "dezoito", "dezenove"},
+            tens = {"vinte", "trinta", "quarenta", "cinquenta", "sessenta", "setenta", "oitenta", "noventa"},
+            tensSeparator = " e ",
+            hundreds = {"cento", "duzentos", "trezentos", "quatrocentos", "quinhentos", "seiscentos", "setecentos",
+                    "oitocentos", "novecentos"},
+            exactHundred = "cem",
+            hundredsSeparator = " e ",
+            thousand = "mil",
+            million = {"milh\u00E3o", "milh\u00F5es"},
+            billion = {"bilh\u00E3o", "bilh\u00F5es"},
+            trillion = {"trilh\u00E3o", "trilh\u00F5es"},
+            decimalFraction = "com %d/100")
+    interface Portuguese {
+    }
+
+    @Test
+    void toText_GeneratedLanguages_SameTextAsHandWrittenLanguages() {
+        for (long number = 0; number < Number2Text.MAX_VALUE; number = number * 3 + 1) {
+            for (long current = number; current < number + 1_200; current++) {
+                assertEquals(new SpanishNumber2Text(current).toText(), new GeneratedSpanishNumber2Text(current).toText());
+                assertEquals(new EnglishNumber2Text(current).toText(), new GeneratedEnglishNumber2Text(current).toText());
+            }
+        }
+
+        BigDecimal amount = new BigDecimal("2001001101.45");
+        assertEquals(new SpanishNumber2Text(amount).toText(), new GeneratedSpanishNumber2Text(amount).toText());
+        assertEquals(new EnglishNumber2Text(amount).toText(), new GeneratedEnglishNumber2Text(amount).toText());
+    }
+
+    @Test
+    void toText_GeneratedPortuguese_SuccessfulConversion() {
+        assertEquals("cento e vinte e tr\u00EAs", new PortugueseNumber2Text(123).toText());
+        assertEquals("dois milh\u00F5es cem mil com 5/100", new PortugueseNumber2Text(new BigDecimal("2100000.05")).toText());
+        assertEquals("um bilh\u00E3o", new PortugueseNumber2Text(1_000_000_000).toText());
+    }
+}
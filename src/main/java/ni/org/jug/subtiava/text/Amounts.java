@@ -0,0 +1,143 @@
+package ni.org.jug.subtiava.text;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * <p>
+ * Metodos de apoyo para separar un numero de tipo {@link BigDecimal} en su parte entera ({@link BigDecimal#longValue()}) y su parte
+ * decimal redondeada a 2 digitos ({@link RoundingMode#HALF_UP}).
+ * </p>
+ * <p>
+ * Cuando el numero es positivo y su valor sin escala ({@link BigDecimal#unscaledValue()}) cabe en un {@code long}, ambas partes se
+ * calculan con aritmetica de enteros a partir del valor sin escala y de la escala, sin crear instancias intermedias de
+ * {@link BigDecimal}. En cualquier otro caso se usa la aritmetica de {@link BigDecimal}. Ambos caminos producen el mismo resultado.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+final class Amounts {
+    /**
+     * Valor devuelto por {@link #split(BigDecimal)} cuando el numero no puede separarse con aritmetica de enteros.
+     */
+    static final long NOT_SPLIT = -1;
+
+    /**
+     * El valor 100.
+     */
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    /**
+     * Potencias de 10 que caben en un {@code long}: 10^0 a 10^18.
+     */
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    /**
+     * Parte entera maxima que puede representarse en el valor devuelto por {@link #split(BigDecimal)}.
+     */
+    private static final long MAX_INTEGER = (Long.MAX_VALUE - 99) / 100;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private Amounts() {
+    }
+
+    /**
+     * Separa el numero en su parte entera y su parte decimal usando aritmetica de enteros.
+     *
+     * @param amount El numero
+     * @return {@code parte entera * 100 + parte decimal} o {@link #NOT_SPLIT} si el numero es negativo o demasiado grande
+     */
+    static long split(BigDecimal amount) {
+        if (amount.signum() < 0) {
+            return NOT_SPLIT;
+        }
+        BigInteger unscaledValue = amount.unscaledValue();
+        if (unscaledValue.bitLength() > 63) {
+            return NOT_SPLIT;
+        }
+        long unscaled = unscaledValue.longValue();
+        int scale = amount.scale();
+
+        if (scale <= 0) {
+            if (-scale >= POWERS_OF_TEN.length) {
+                return unscaled == 0 ? 0 : NOT_SPLIT;
+            }
+            long power = POWERS_OF_TEN[-scale];
+            if (unscaled > MAX_INTEGER / power) {
+                return NOT_SPLIT;
+            }
+            return unscaled * power * 100;
+        }
+
+        long integer;
+        long fraction;
+        if (scale < POWERS_OF_TEN.length) {
+            long power = POWERS_OF_TEN[scale];
+            integer = unscaled / power;
+            fraction = unscaled - integer * power;
+        } else if (scale == POWERS_OF_TEN.length) {
+            // 10^19 does not fit in a long, but any unscaled value is smaller than it
+            integer = 0;
+            fraction = unscaled;
+        } else {
+            return NOT_SPLIT;
+        }
+        if (integer > MAX_INTEGER) {
+            return NOT_SPLIT;
+        }
+
+        long cents;
+        if (scale <= 2) {
+            cents = fraction * POWERS_OF_TEN[2 - scale];
+        } else if (scale - 2 < POWERS_OF_TEN.length) {
+            long divisor = POWERS_OF_TEN[scale - 2];
+            cents = fraction / divisor;
+            long remainder = fraction - cents * divisor;
+            if (remainder >= divisor - remainder) { // HALF_UP: remainder >= divisor / 2
+                cents++;
+            }
+        } else {
+            return NOT_SPLIT;
+        }
+
+        // The integer part is truncated, so rounding x.995 up only clears the decimal fraction
+        return integer * 100 + cents % 100;
+    }
+
+    /**
+     * Devuelve la parte entera del numero.
+     *
+     * @param amount El numero
+     * @param split Resultado de {@link #split(BigDecimal)} para el mismo numero
+     * @return La parte entera
+     */
+    static long integerOf(BigDecimal amount, long split) {
+        return split == NOT_SPLIT ? amount.longValue() : split / 100;
+    }
+
+    /**
+     * Devuelve la parte decimal del numero, redondeada a 2 digitos.
+     *
+     * @param amount El numero
+     * @param split Resultado de {@link #split(BigDecimal)} para el mismo numero
+     * @return La parte decimal
+     */
+    static int decimalOf(BigDecimal amount, long split) {
+        if (split != NOT_SPLIT) {
+            return (int) (split % 100);
+        }
+        return amount
+                .setScale(2, RoundingMode.HALF_UP)
+                .remainder(BigDecimal.ONE)
+                .multiply(ONE_HUNDRED)
+                .intValue();
+    }
+}
@@ -0,0 +1,45 @@
+package ni.org.jug.subtiava.text;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Tarea {@code fork/join} que convierte a texto un rango de posiciones de un arreglo. El rango se divide a la mitad hasta obtener
+ * bloques de a lo sumo {@link #CHUNK_SIZE} posiciones, los cuales se convierten secuencialmente. Cada resultado se escribe en la
+ * misma posicion del arreglo de salida, por lo que el orden original se conserva sin necesidad de sincronizacion adicional.
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+final class BulkConversionTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Cantidad maxima de posiciones que se convierten secuencialmente en una misma tarea.
+     */
+    static final int CHUNK_SIZE = 2048;
+
+    private final String[] output;
+    private final int from;
+    private final int to;
+    private final IntFunction<String> conversion;
+
+    BulkConversionTask(String[] output, int from, int to, IntFunction<String> conversion) {
+        this.output = output;
+        this.from = from;
+        this.to = to;
+        this.conversion = conversion;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= CHUNK_SIZE) {
+            for (int i = from; i < to; i++) {
+                output[i] = conversion.apply(i);
+            }
+        } else {
+            int middle = (from + to) >>> 1;
+            invokeAll(new BulkConversionTask(output, from, middle, conversion), new BulkConversionTask(output, middle, to, conversion));
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package ni.org.jug.subtiava.text;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -12,6 +13,38 @@ public final class Cedula {
     public static final int NATIONAL_ID_LENGTH = 14;
     public static final String VALID_CHARACTERS = "ABCDEFGHJKLMNPQRSTUVWXY";
 
+    /**
+     * Letras de verificacion en minuscula, indexadas por el residuo de los primeros 13 digitos entre 23.
+     */
+    private static final byte[] LOWER_CASE_CHECK_DIGITS = VALID_CHARACTERS.toLowerCase().getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Cantidad de dias de cada mes (1 a 12) en un ano no bisiesto. Las demas posiciones son 0.
+     */
+    private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31, 0, 0, 0};
+
+    /**
+     * 10^5 mod 23: el residuo de los 13 digitos es el residuo de {@code high * 10^5 + low}, donde {@code high} es el valor de los
+     * primeros 8 digitos y {@code low} el de los ultimos 5.
+     */
+    private static final int TEN_TO_THE_FIFTH_MOD_23 = 100_000 % 23;
+
+    /**
+     * Valor que devuelve {@link #encode(CharSequence)} si la cedula no es valida.
+     */
+    public static final long INVALID_ENCODING = -1;
+
+    /**
+     * Cantidad de bits de la representacion como {@code long} que contienen la posicion de la letra de verificacion en
+     * {@link #VALID_CHARACTERS}.
+     */
+    private static final int CHECK_DIGIT_BITS = 5;
+    private static final long MAX_BASE = 9_999_999_999_999L;
+
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long SIXES = 0x0606060606060606L;
+    private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+
     public final String cedula;
     public final String townCode;
     public final String date;
@@ -51,73 +84,430 @@ public final class Cedula {
 
     @Override
     public int hashCode() {
-        return Objects.hash(townCode, date, consecutive);
+        // Same value as Objects.hash(townCode, date, consecutive), without allocating the varargs array
+        int result = 31 + townCode.hashCode();
+        result = 31 * result + date.hashCode();
+        return 31 * result + consecutive.hashCode();
+    }
+
+    /**
+     * Devuelve la representacion de la cedula como un {@code long}. Ver {@link #encode(CharSequence)}.
+     */
+    public long toLong() {
+        return encode(cedula);
     }
 
     public static boolean validate(String cedula) {
-        if (cedula == null || cedula.isEmpty() || cedula.length() != NATIONAL_ID_LENGTH) {
-            return false;
+        return check(cedula) == CedulaValidation.VALID;
+    }
+
+    /**
+     * Valida la cedula. Ver {@link #check(CharSequence)}.
+     */
+    public static boolean validate(CharSequence cedula) {
+        return check(cedula) == CedulaValidation.VALID;
+    }
+
+    /**
+     * Valida la cedula contenida en {@code chars}. Ver {@link #check(char[], int, int)}.
+     */
+    public static boolean validate(char[] chars, int offset, int length) {
+        return check(chars, offset, length) == CedulaValidation.VALID;
+    }
+
+    /**
+     * <p>
+     * Valida la cedula y devuelve la primera regla que no cumple. Las reglas se aplican en este orden: longitud, digitos de los
+     * primeros 13 caracteres, ultimo caracter, fecha de nacimiento (ddmmyy, en el siglo XX o XXI) y letra de verificacion.
+     * </p>
+     * <p>
+     * La cedula se recorre una sola vez: la fecha y el valor de los primeros 13 digitos (que siempre cabe en un {@code long}) se
+     * calculan mientras se leen los digitos. No se crean objetos ni se lanzan excepciones, por lo que el costo de una cedula
+     * invalida no es mayor que el de una valida.
+     * </p>
+     *
+     * @param cedula La cedula a validar. Puede ser {@code null}
+     * @return El resultado de la validacion
+     */
+    public static CedulaValidation check(CharSequence cedula) {
+        if (cedula == null || cedula.length() != NATIONAL_ID_LENGTH) {
+            return CedulaValidation.INVALID_LENGTH;
         }
-        char[] chars = cedula.toCharArray();
+
+        long base = 0;
+        int date = 0;
         for (int i = 0; i < NATIONAL_ID_LENGTH - 1; i++) {
-            if (!Character.isDigit(chars[i])) {
-                return false;
+            int digit = digit(cedula.charAt(i));
+            if (digit < 0) {
+                return CedulaValidation.INVALID_CHARACTER;
             }
+            base = base * 10 + digit;
+            date = accumulateDate(date, i, digit, cedula.charAt(i));
         }
+        return check((int) (base % VALID_CHARACTERS.length()), date, cedula.charAt(NATIONAL_ID_LENGTH - 1));
+    }
 
-        char last = Character.toUpperCase(chars[NATIONAL_ID_LENGTH - 1]);
-        if (Character.isDigit(last)) {
-            return false;
-        } else if (Character.isLetter(last)) {
-            if (VALID_CHARACTERS.indexOf(last) == -1) {
+    /**
+     * Valida la cedula contenida en {@code chars}, a partir de {@code offset}. Ver {@link #check(CharSequence)}.
+     *
+     * @param chars Arreglo que contiene la cedula
+     * @param offset Posicion del primer caracter de la cedula
+     * @param length Cantidad de caracteres de la cedula
+     * @return El resultado de la validacion
+     * @throws IndexOutOfBoundsException Si {@code offset} y {@code length} no estan dentro de {@code chars}
+     */
+    public static CedulaValidation check(char[] chars, int offset, int length) {
+        Objects.requireNonNull(chars, "[chars] is required");
+        if (offset < 0 || length < 0 || offset > chars.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", size: " + chars.length);
+        }
+        if (length != NATIONAL_ID_LENGTH) {
+            return CedulaValidation.INVALID_LENGTH;
+        }
+
+        long base = 0;
+        int date = 0;
+        for (int i = 0; i < NATIONAL_ID_LENGTH - 1; i++) {
+            int digit = digit(chars[offset + i]);
+            if (digit < 0) {
+                return CedulaValidation.INVALID_CHARACTER;
+            }
+            base = base * 10 + digit;
+            date = accumulateDate(date, i, digit, chars[offset + i]);
+        }
+        return check((int) (base % VALID_CHARACTERS.length()), date, chars[offset + NATIONAL_ID_LENGTH - 1]);
+    }
+
+    /**
+     * Valida la cedula contenida en los {@link #NATIONAL_ID_LENGTH} bytes de {@code bytes} a partir de {@code offset}, interpretados
+     * como caracteres ASCII. Los bytes que no son ASCII se interpretan como caracteres ISO-8859-1, por lo que la cedula es invalida.
+     * <p>
+     * Los 13 digitos se leen sin bifurcaciones: los bytes que no son digitos se detectan al final con un solo indicador, y la fecha
+     * de nacimiento se obtiene del valor de los 13 digitos.
+     * </p>
+     */
+    static CedulaValidation checkAscii(ByteBuffer bytes, int offset) {
+        long base = 0;
+        int invalid = 0;
+        for (int i = 0; i < NATIONAL_ID_LENGTH - 1; i++) {
+            int digit = bytes.get(offset + i) - '0';
+            invalid |= digit | (9 - digit); // negative if the byte is not a digit
+            base = base * 10 + digit;
+        }
+        if (invalid < 0) {
+            return CedulaValidation.INVALID_CHARACTER;
+        }
+        // Digits 3 to 8 are the date: ddmmyy followed by the 4 digits of the consecutive
+        int date = (int) (base / 10_000 % 1_000_000);
+        return check((int) (base % VALID_CHARACTERS.length()), date, (char) (bytes.get(offset + NATIONAL_ID_LENGTH - 1) & 0xFF));
+    }
+
+    /**
+     * Valida {@code count} cedulas de {@link #NATIONAL_ID_LENGTH} caracteres ASCII almacenadas en {@code records}, a partir de su
+     * posicion actual y separadas por {@code stride} bytes (por ejemplo, registros de longitud fija). La posicion de
+     * {@code records} no cambia. Ver {@link #validateRecords(byte[], int, int, int)}.
+     *
+     * @param records Buffer que contiene las cedulas
+     * @param count Cantidad de cedulas
+     * @param stride Distancia, en bytes, entre el inicio de dos cedulas consecutivas
+     * @return Mascara de las cedulas validas
+     * @throws IllegalArgumentException Si {@code count} es negativo o {@code stride} es menor que {@link #NATIONAL_ID_LENGTH}
+     * @throws IndexOutOfBoundsException Si las cedulas exceden el limite de {@code records}
+     */
+    public static long[] validateRecords(ByteBuffer records, int count, int stride) {
+        Objects.requireNonNull(records, "[records] is required");
+        checkRecords(records.position(), records.limit(), count, stride);
+
+        ByteBuffer bytes = records.order() == ByteOrder.BIG_ENDIAN ? records : records.duplicate().order(ByteOrder.BIG_ENDIAN);
+        long[] mask = new long[(count + 63) >>> 6];
+        int offset = records.position();
+        for (int record = 0; record < count; record++, offset += stride) {
+            mask[record >>> 6] |= (long) validRecord(bytes, offset) << record;
+        }
+        return mask;
+    }
+
+    /**
+     * <p>
+     * Valida {@code count} cedulas de {@link #NATIONAL_ID_LENGTH} caracteres ASCII almacenadas en {@code records} a partir de
+     * {@code offset} y separadas por {@code stride} bytes (por ejemplo, registros de longitud fija), sin decodificarlas.
+     * </p>
+     * <p>
+     * El resultado es una mascara de bits: el bit {@code i % 64} del elemento {@code i / 64} indica si la cedula {@code i} es
+     * valida. Se puede convertir en un {@link java.util.BitSet} con {@link java.util.BitSet#valueOf(long[])}. Cada cedula es
+     * valida si y solo si {@link #validate(CharSequence)} es {@code true} para el texto de sus bytes en ISO-8859-1.
+     * </p>
+     * <p>
+     * Las reglas de cada cedula se evaluan sin bifurcaciones: cada regla produce un entero que es negativo si no se cumple y todos
+     * se combinan en un solo indicador. Tampoco se crean objetos, salvo la mascara.
+     * </p>
+     *
+     * @param records Arreglo que contiene las cedulas
+     * @param offset Posicion de la primera cedula
+     * @param count Cantidad de cedulas
+     * @param stride Distancia, en bytes, entre el inicio de dos cedulas consecutivas
+     * @return Mascara de las cedulas validas
+     * @throws IllegalArgumentException Si {@code count} es negativo o {@code stride} es menor que {@link #NATIONAL_ID_LENGTH}
+     * @throws IndexOutOfBoundsException Si las cedulas exceden el limite de {@code records}
+     */
+    public static long[] validateRecords(byte[] records, int offset, int count, int stride) {
+        Objects.requireNonNull(records, "[records] is required");
+        if (offset < 0 || offset > records.length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", size: " + records.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(records);
+        buffer.position(offset);
+        return validateRecords(buffer, count, stride);
+    }
+
+    private static void checkRecords(int offset, int limit, int count, int stride) {
+        if (count < 0) {
+            throw new IllegalArgumentException("[count] must be greater than or equal to 0");
+        }
+        if (stride < NATIONAL_ID_LENGTH) {
+            throw new IllegalArgumentException("[stride] must be greater than or equal to " + NATIONAL_ID_LENGTH);
+        }
+        if (count > 0 && offset + (long) (count - 1) * stride + NATIONAL_ID_LENGTH > limit) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", count: " + count + ", stride: " + stride + ", limit: " +
+                    limit);
+        }
+    }
+
+    /**
+     * Devuelve 1 si la cedula de los {@link #NATIONAL_ID_LENGTH} bytes a partir de {@code offset} es valida, 0 en caso contrario.
+     * Los primeros 12 digitos se leen como un {@code long} y un {@code int} en big-endian y se validan y convierten en paralelo,
+     * 8 y 4 bytes a la vez (SWAR).
+     */
+    private static int validRecord(ByteBuffer bytes, int offset) {
+        long first = bytes.getLong(offset);
+        int second = bytes.getInt(offset + 8);
+        int last = bytes.get(offset + 12) - '0';
+
+        // Every rule sets the sign bit of flags when it fails. A byte is a digit if its high nibble is 3, also after adding 6
+        long invalidFirst = ((first & HIGH_NIBBLES) ^ ZEROS) | (((first + SIXES) & HIGH_NIBBLES) ^ ZEROS);
+        int invalidSecond = ((second & (int) HIGH_NIBBLES) ^ (int) ZEROS) |
+                (((second + (int) SIXES) & (int) HIGH_NIBBLES) ^ (int) ZEROS);
+        int flags = (invalidFirst != 0 ? -1 : 0) | (invalidSecond != 0 ? -1 : 0) | last | (9 - last);
+
+        // Pairs of digits, then groups of 4 digits, then the value of the 8 digits
+        long digits = first - ZEROS;
+        digits = (digits >>> 8 & 0x00FF00FF00FF00FFL) * 10 + (digits & 0x00FF00FF00FF00FFL);
+        digits = (digits >>> 16 & 0x0000FFFF0000FFFFL) * 100 + (digits & 0x0000FFFF0000FFFFL);
+        int high = (int) ((digits >>> 32) * 10_000 + (digits & 0xFFFFFFFFL));
+        int low = second - (int) ZEROS;
+        low = (low >>> 8 & 0x00FF00FF) * 10 + (low & 0x00FF00FF);
+        low = (low >>> 16) * 100 + (low & 0xFFFF);
+
+        // When some byte is not a digit, the values below are meaningless but still within the bounds of the tables
+        int day = high / 1000 % 100;
+        int month = high / 10 % 100;
+        int year = high % 10 * 10 + low / 1000;
+        int leapDay = (month == 2 ? 1 : 0) & ((year & 3) == 0 ? 1 : 0);
+        int maxDay = DAYS_IN_MONTH[month & 15] + leapDay;
+        flags |= (month - 1) | (12 - month) | (day - 1) | (maxDay - day);
+
+        // Only the letters a-z change when converted to upper case, so the check digit is valid in upper or lower case
+        int remainder = (((high % 23) * TEN_TO_THE_FIFTH_MOD_23 + low * 10 + last) & Integer.MAX_VALUE) %
+                VALID_CHARACTERS.length();
+        flags |= -((bytes.get(offset + NATIONAL_ID_LENGTH - 1) & 0xFF | 0x20) ^ LOWER_CASE_CHECK_DIGITS[remainder]);
+        return ~flags >>> 31;
+    }
+
+    /**
+     * Valida la cedula contenida en los {@code length} bytes de {@code bytes} a partir de {@code offset}, codificados en UTF-8. El
+     * resultado es el mismo que el de {@link #check(CharSequence)} con el texto decodificado, pero solo se decodifica el texto si
+     * contiene bytes que no son ASCII.
+     */
+    static CedulaValidation checkUtf8(ByteBuffer bytes, int offset, int length) {
+        if (length == NATIONAL_ID_LENGTH) {
+            CedulaValidation validation = checkAscii(bytes, offset);
+            // Any other result means that the first 13 bytes are ASCII digits
+            boolean ascii = validation == CedulaValidation.INVALID_CHARACTER ? isAscii(bytes, offset, length) :
+                    bytes.get(offset + NATIONAL_ID_LENGTH - 1) >= 0;
+            if (ascii) {
+                return validation;
+            }
+        } else if (length < NATIONAL_ID_LENGTH || length > NATIONAL_ID_LENGTH * 3 || isAscii(bytes, offset, length)) {
+            // A character of the basic multilingual plane takes 3 bytes at most
+            return CedulaValidation.INVALID_LENGTH;
+        }
+
+        byte[] text = new byte[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = bytes.get(offset + i);
+        }
+        return check(new String(text, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Devuelve la representacion como {@code long} de la cedula de {@code length} bytes en UTF-8 almacenada en {@code bytes} a
+     * partir de {@code offset}. La cedula debe ser valida, es decir, {@link #checkUtf8(ByteBuffer, int, int)} debe devolver
+     * {@link CedulaValidation#VALID}. Ver {@link #encode(CharSequence)}.
+     */
+    static long encodeValidUtf8(ByteBuffer bytes, int offset, int length) {
+        if (length != NATIONAL_ID_LENGTH) {
+            // A valid cedula of 14 bytes is ASCII, otherwise it contains digits of other writing systems
+            byte[] text = new byte[length];
+            for (int i = 0; i < length; i++) {
+                text[i] = bytes.get(offset + i);
+            }
+            return encode(new String(text, StandardCharsets.UTF_8));
+        }
+        long base = 0;
+        for (int i = 0; i < NATIONAL_ID_LENGTH - 1; i++) {
+            base = base * 10 + bytes.get(offset + i) - '0';
+        }
+        return base << CHECK_DIGIT_BITS | base % VALID_CHARACTERS.length();
+    }
+
+    private static boolean isAscii(ByteBuffer bytes, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (bytes.get(offset + i) < 0) {
                 return false;
             }
         }
+        return true;
+    }
 
-        // Apply date validation
-        String shortIsoDate = shortIsoDate(cedula);
-        String isoDate = new StringBuilder(10).append("19").append(shortIsoDate).toString();
-        boolean isIsoDate;
+    /**
+     * Devuelve el valor del digito o -1 si el caracter no es un digito. Al igual que {@link Character#isDigit(char)} y
+     * {@link Long#parseLong(String)}, se aceptan los digitos de cualquier sistema de escritura.
+     */
+    private static int digit(char value) {
+        if (value >= '0' && value <= '9') {
+            return value - '0';
+        }
+        return Character.isDigit(value) ? Character.digit(value, 10) : -1;
+    }
 
-        isIsoDate = isIsoDate(isoDate);
-        if (!isIsoDate) {
-            isoDate = new StringBuilder(10).append("20").append(shortIsoDate).toString();
-            isIsoDate = isIsoDate(isoDate);
+    /**
+     * Agrega el digito en la posicion {@code index} a la fecha de nacimiento (ddmmyy, posiciones 3 a 8). La fecha solo acepta
+     * digitos ASCII, igual que {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE}; en caso contrario el resultado es -1.
+     */
+    private static int accumulateDate(int date, int index, int digit, char value) {
+        if (index < 3 || index > 8 || date < 0) {
+            return date;
         }
-        if (!isIsoDate) {
-            return false;
+        return value <= '9' ? date * 10 + digit : -1;
+    }
+
+    /**
+     * Valida el ultimo caracter, la fecha de nacimiento y la letra de verificacion.
+     *
+     * @param remainder Residuo de los primeros 13 digitos entre 23
+     * @param date Fecha de nacimiento como el numero ddmmyy, o -1 si contiene digitos que no son ASCII
+     * @param last El ultimo caracter de la cedula
+     */
+    static CedulaValidation check(int remainder, int date, char last) {
+        char checkDigit = Character.toUpperCase(last);
+        if (Character.isDigit(checkDigit) || (Character.isLetter(checkDigit) && VALID_CHARACTERS.indexOf(checkDigit) == -1)) {
+            return CedulaValidation.INVALID_CHARACTER;
         }
+        if (!isValidDate(date)) {
+            return CedulaValidation.INVALID_DATE;
+        }
+        return VALID_CHARACTERS.charAt(remainder) == checkDigit ? CedulaValidation.VALID : CedulaValidation.INVALID_CHECK_DIGIT;
+    }
 
-        // Apply verification digit validation
-        long base = Long.parseLong(Strings.first(cedula, NATIONAL_ID_LENGTH - 1));
-        int index = (int) (base % VALID_CHARACTERS.length());
-        char expectedCheckDigit = VALID_CHARACTERS.charAt(index);
-        return expectedCheckDigit == last;
+    /**
+     * Indica si ddmmyy es una fecha valida en el siglo XX o en el siglo XXI. El 29 de febrero es valido si 19yy o 20yy es bisiesto,
+     * es decir, si yy es multiplo de 4 (1900 no es bisiesto, pero 2000 si lo es).
+     */
+    private static boolean isValidDate(int date) {
+        if (date < 0) {
+            return false;
+        }
+        int day = date / 10_000;
+        int month = date / 100 % 100;
+        int year = date % 100;
+        if (month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        switch (month) {
+            case 2:
+                return day <= (year % 4 == 0 ? 29 : 28);
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return day <= 30;
+            default:
+                return day <= 31;
+        }
     }
 
-    private static String shortIsoDate(String cedula) {
-        char[] date = Strings.substring(cedula, 6, 3).toCharArray();
-        return new StringBuilder(8)
-                .append(date[4]).append(date[5]) // year
-                .append('-')
-                .append(date[2]).append(date[3]) // month
-                .append('-')
-                .append(date[0]).append(date[1]) // day
-                .toString();
+    /**
+     * <p>
+     * Devuelve la representacion canonica de la cedula como un {@code long}: el valor de los primeros 13 digitos, desplazado
+     * {@value #CHECK_DIGIT_BITS} bits a la izquierda, mas la posicion de la letra de verificacion en {@link #VALID_CHARACTERS}.
+     * La representacion siempre es positiva y no depende de si la letra esta en mayuscula o minuscula; el orden numerico de las
+     * representaciones es el mismo orden de los digitos de las cedulas.
+     * </p>
+     * <p>
+     * Permite almacenar y comparar millones de cedulas sin crear instancias de {@link String} ni de {@link Cedula} (ver
+     * {@link CedulaSet} y {@link CedulaLongMap}).
+     * </p>
+     *
+     * @param cedula La cedula. Puede ser {@code null}
+     * @return La representacion de la cedula o {@link #INVALID_ENCODING} si la cedula no es valida
+     */
+    public static long encode(CharSequence cedula) {
+        if (check(cedula) != CedulaValidation.VALID) {
+            return INVALID_ENCODING;
+        }
+        long base = 0;
+        for (int i = 0; i < NATIONAL_ID_LENGTH - 1; i++) {
+            base = base * 10 + digit(cedula.charAt(i));
+        }
+        return base << CHECK_DIGIT_BITS | base % VALID_CHARACTERS.length();
     }
 
-    private static boolean isIsoDate(String date) {
-        try {
-            LocalDate.parse(date);
-            return true;
-        } catch (DateTimeParseException ex) {
+    /**
+     * Indica si {@code encoded} es la representacion de una cedula valida. Ver {@link #encode(CharSequence)}.
+     */
+    public static boolean isValidEncoding(long encoded) {
+        long base = encoded >>> CHECK_DIGIT_BITS;
+        if (encoded < 0 || base > MAX_BASE || (encoded & ((1 << CHECK_DIGIT_BITS) - 1)) != base % VALID_CHARACTERS.length()) {
             return false;
         }
+        return isValidDate((int) (base / 10_000 % 1_000_000));
+    }
+
+    /**
+     * Devuelve el texto de la cedula a partir de su representacion como {@code long}, con digitos ASCII y la letra de
+     * verificacion en mayuscula. Ver {@link #encode(CharSequence)}.
+     *
+     * @param encoded La representacion de la cedula
+     * @return El texto de la cedula
+     * @throws IllegalArgumentException Si {@code encoded} no es la representacion de una cedula valida
+     */
+    public static String decodeToString(long encoded) {
+        if (!isValidEncoding(encoded)) {
+            throw new IllegalArgumentException("Invalid encoded cedula [" + encoded + "]");
+        }
+        char[] chars = new char[NATIONAL_ID_LENGTH];
+        long base = encoded >>> CHECK_DIGIT_BITS;
+        for (int i = NATIONAL_ID_LENGTH - 2; i >= 0; i--) {
+            chars[i] = (char) ('0' + base % 10);
+            base /= 10;
+        }
+        chars[NATIONAL_ID_LENGTH - 1] = VALID_CHARACTERS.charAt((int) (encoded & ((1 << CHECK_DIGIT_BITS) - 1)));
+        return new String(chars);
+    }
+
+    /**
+     * Crea la cedula a partir de su representacion como {@code long}. Ver {@link #decodeToString(long)}.
+     *
+     * @throws IllegalArgumentException Si {@code encoded} no es la representacion de una cedula valida
+     */
+    public static Cedula decode(long encoded) {
+        return new Cedula(decodeToString(encoded));
     }
 
     public static Cedula of(String cedula) {
-        if (!validate(cedula)) {
-            throw new IllegalArgumentException("La c\u00E9dula no es v\u00E1lida");
+        CedulaValidation validation = check(cedula);
+        if (validation != CedulaValidation.VALID) {
+            throw new IllegalArgumentException("La c\u00E9dula no es v\u00E1lida: " + validation);
         }
         return new Cedula(cedula);
     }
@@ -0,0 +1,250 @@
+package ni.org.jug.subtiava.text;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>
+ * Proceso por lotes que valida las cedulas de un archivo, una por linea, y escribe el numero de linea y el motivo
+ * ({@link CedulaValidation}) de cada cedula invalida, por ejemplo {@code 15,INVALID_DATE}. Las lineas se numeran a partir de 1 y
+ * terminan en {@code '\n'} o {@code "\r\n"}: el {@code '\r'} de los archivos con saltos de linea de Windows no forma parte de
+ * la cedula, pero un {@code '\r'} aislado no termina la linea (ver {@link MappedLines}).
+ * </p>
+ * <p>
+ * La entrada se lee a traves de un {@link FileChannel} mapeado en memoria y se divide en bloques que terminan en un salto de
+ * linea. Cada bloque se valida en un hilo de un {@link ForkJoinPool}, directamente sobre los bytes del archivo y sin crear
+ * instancias de {@link String} (salvo para las lineas que no son ASCII). El resultado es el mismo que el de
+ * {@link Cedula#check(CharSequence)} con cada linea decodificada en UTF-8. Las cedulas invalidas se escriben en el mismo orden
+ * de la entrada.
+ * </p>
+ * <p>
+ * Esta clase es inmutable y <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class CedulaBatch {
+    /**
+     * Tamano maximo, en bytes, de un bloque del archivo de entrada.
+     */
+    static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+
+    /**
+     * Cantidad de bits de {@link ChunkResult#invalid} que contienen el ordinal de {@link CedulaValidation}.
+     */
+    private static final int ORDINAL_BITS = 3;
+    private static final long ORDINAL_MASK = (1 << ORDINAL_BITS) - 1;
+
+    private final int chunkSize;
+
+    public CedulaBatch() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    CedulaBatch(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("[chunkSize] must be greater than 0");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Valida las cedulas de {@code input} usando el {@link ForkJoinPool#commonPool() pool comun}. Ver
+     * {@link #validate(Path, WritableByteChannel, ForkJoinPool)}.
+     */
+    public Report validate(Path input, Path output) throws IOException {
+        return validate(input, output, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Valida las cedulas de {@code input} y escribe las cedulas invalidas en {@code output}. Si el archivo de salida existe, su
+     * contenido se reemplaza. Ver {@link #validate(Path, WritableByteChannel, ForkJoinPool)}.
+     */
+    public Report validate(Path input, Path output, ForkJoinPool pool) throws IOException {
+        Objects.requireNonNull(output, "[output] is required");
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            return validate(input, out, pool);
+        }
+    }
+
+    /**
+     * Valida las cedulas de {@code input} y escribe en {@code output} una linea con el numero de linea y el motivo de cada cedula
+     * invalida. Para limitar el consumo de memoria, solo se validan simultaneamente dos bloques por cada hilo del pool.
+     *
+     * @param input Archivo con una cedula por linea
+     * @param output Destino de las cedulas invalidas. No se cierra al terminar
+     * @param pool El pool de hilos donde se realiza la validacion
+     * @return Resumen del proceso
+     * @throws IOException Si ocurre un error al leer el archivo o al escribir en {@code output}
+     * @throws IllegalArgumentException Si alguna linea es mas grande que un bloque
+     */
+    public Report validate(Path input, WritableByteChannel output, ForkJoinPool pool) throws IOException {
+        Objects.requireNonNull(input, "[input] is required");
+        Objects.requireNonNull(output, "[output] is required");
+        Objects.requireNonNull(pool, "[pool] is required");
+
+        long start = System.nanoTime();
+        long lines = 0;
+        CedulaValidationSummary summary = new CedulaValidationSummary();
+        Deque<ForkJoinTask<ChunkResult>> pending = new ArrayDeque<>();
+        int maxPending = Math.max(2, pool.getParallelism() * 2);
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            MappedLines chunks = new MappedLines(in, chunkSize);
+            MappedByteBuffer next;
+            while ((next = chunks.nextChunk()) != null) {
+                MappedByteBuffer chunk = next;
+                pending.addLast(pool.submit(() -> validateChunk(chunk)));
+
+                if (pending.size() >= maxPending) {
+                    lines += write(output, pending.removeFirst(), lines, summary);
+                }
+            }
+            while (!pending.isEmpty()) {
+                lines += write(output, pending.removeFirst(), lines, summary);
+            }
+        } finally {
+            for (ForkJoinTask<ChunkResult> task : pending) {
+                task.cancel(false);
+            }
+        }
+
+        return new Report(summary, System.nanoTime() - start);
+    }
+
+    /**
+     * Espera a que termine la validacion del bloque y escribe sus cedulas invalidas.
+     *
+     * @param firstLine Cantidad de lineas de los bloques anteriores
+     * @return La cantidad de lineas del bloque
+     */
+    private static int write(WritableByteChannel out, ForkJoinTask<ChunkResult> task, long firstLine, CedulaValidationSummary summary)
+            throws IOException {
+        ChunkResult result;
+        try {
+            result = task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the validation of a chunk");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+
+        summary.merge(result.summary);
+        if (result.invalidCount > 0) {
+            StringBuilder text = new StringBuilder(result.invalidCount * 32);
+            for (int i = 0; i < result.invalidCount; i++) {
+                long invalid = result.invalid[i];
+                text.append(firstLine + (invalid >>> ORDINAL_BITS) + 1).append(',')
+                        .append(CedulaValidation.ofOrdinal((int) (invalid & ORDINAL_MASK))).append('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+        return result.lines;
+    }
+
+    /**
+     * Valida todas las lineas del bloque.
+     *
+     * @param chunk Bloque del archivo de entrada
+     * @return Las cedulas invalidas del bloque
+     */
+    ChunkResult validateChunk(ByteBuffer chunk) {
+        ChunkResult result = new ChunkResult();
+        MappedLines.Cursor lines = new MappedLines.Cursor(chunk);
+        while (lines.next()) {
+            CedulaValidation validation = Cedula.checkUtf8(chunk, lines.start(), lines.length());
+            result.summary.add(validation);
+            if (validation != CedulaValidation.VALID) {
+                result.addInvalid(result.lines, validation);
+            }
+            result.lines++;
+        }
+        return result;
+    }
+
+    /**
+     * Resultado de la validacion de un bloque. Cada cedula invalida se guarda como un {@code long} con el numero de linea dentro
+     * del bloque (a partir de 0) seguido de los {@link #ORDINAL_BITS} bits del motivo.
+     */
+    static final class ChunkResult {
+        final CedulaValidationSummary summary = new CedulaValidationSummary();
+        long[] invalid = new long[16];
+        int invalidCount;
+        int lines;
+
+        void addInvalid(int line, CedulaValidation validation) {
+            if (invalidCount == invalid.length) {
+                invalid = Arrays.copyOf(invalid, invalidCount * 2);
+            }
+            invalid[invalidCount++] = (long) line << ORDINAL_BITS | validation.ordinal();
+        }
+    }
+
+    /**
+     * Resumen de la ejecucion de un proceso por lotes.
+     */
+    public static final class Report {
+        private final CedulaValidationSummary summary;
+        private final long elapsedNanos;
+
+        Report(CedulaValidationSummary summary, long elapsedNanos) {
+            this.summary = summary;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRecordCount() {
+            return summary.getTotalCount();
+        }
+
+        public long getInvalidCount() {
+            return summary.getInvalidCount();
+        }
+
+        /**
+         * Devuelve la cantidad de cedulas por motivo.
+         */
+        public CedulaValidationSummary getSummary() {
+            return summary;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0 : getRecordCount() * 1_000_000_000d / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d cedulas validated (%d invalid) in %.3f s (%.0f records/s)", getRecordCount(),
+                    getInvalidCount(), elapsedNanos / 1e9, getRecordsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package ni.org.jug.subtiava.text;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * <p>
+ * Tabla hash de direccionamiento abierto (sondeo lineal) para cedulas representadas como {@code long} (ver
+ * {@link Cedula#encode(CharSequence)}). Las claves y los valores se almacenan en instancias de {@link LongBuffer}, en el heap o
+ * fuera del heap ({@link ByteBuffer#allocateDirect(int)}), sin crear un objeto por cada elemento. El valor 0 marca una posicion
+ * vacia, ya que nunca es la representacion de una cedula valida.
+ * </p>
+ * <p>
+ * Los elementos se eliminan desplazando hacia atras los elementos siguientes del mismo grupo, por lo que la tabla no acumula
+ * marcas de elementos eliminados.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+final class CedulaHashTable {
+    /**
+     * Capacidad maxima: la mayor potencia de 2 cuyo tamano en bytes (8 por {@code long}) cabe en un {@link ByteBuffer}.
+     */
+    static final int MAX_CAPACITY = 1 << 27;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final long EMPTY = 0;
+
+    private final boolean offHeap;
+    private final boolean withValues;
+    private final int maxCapacity;
+    private LongBuffer keys;
+    private LongBuffer values;
+    private int mask;
+    private int shift;
+    private int size;
+    private int resizeThreshold;
+
+    CedulaHashTable(int expectedSize, boolean offHeap, boolean withValues) {
+        this(expectedSize, offHeap, withValues, MAX_CAPACITY);
+    }
+
+    /**
+     * @param maxCapacity Capacidad maxima de la tabla, una potencia de 2 no mayor que {@link #MAX_CAPACITY}
+     */
+    CedulaHashTable(int expectedSize, boolean offHeap, boolean withValues, int maxCapacity) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("[expectedSize] must be greater than or equal to 0");
+        }
+        this.offHeap = offHeap;
+        this.withValues = withValues;
+        this.maxCapacity = maxCapacity;
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Devuelve la menor potencia de 2 en la que caben {@code expectedSize} elementos sin superar el 75% de ocupacion.
+     */
+    private int capacityFor(long expectedSize) {
+        long capacity = Long.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 4 / 3 + 1) * 2 - 1);
+        if (capacity > maxCapacity) {
+            throw new IllegalArgumentException("The expected size [" + expectedSize + "] exceeds the maximum capacity");
+        }
+        return (int) capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = allocateBuffer(capacity);
+        values = withValues ? allocateBuffer(capacity) : null;
+        mask = capacity - 1;
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        resizeThreshold = capacity / 4 * 3;
+    }
+
+    private LongBuffer allocateBuffer(int capacity) {
+        if (offHeap) {
+            return ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+        return LongBuffer.allocate(capacity);
+    }
+
+    /**
+     * Devuelve la posicion ideal de la clave. Se usa el metodo de Fibonacci: los bits mas altos del producto dependen de todos los
+     * bits de la clave.
+     */
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    static void checkKey(long key) {
+        if (key <= EMPTY) {
+            throw new IllegalArgumentException("Invalid encoded cedula [" + key + "]");
+        }
+    }
+
+    /**
+     * Devuelve la posicion de la clave o, si no existe, el complemento ({@code ~}) de la posicion vacia donde debe insertarse.
+     */
+    int indexOf(long key) {
+        checkKey(key);
+        int index = slot(key);
+        while (true) {
+            long current = keys.get(index);
+            if (current == key) {
+                return index;
+            } else if (current == EMPTY) {
+                return ~index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Inserta la clave en la posicion vacia {@code index}, obtenida con {@link #indexOf(long)}.
+     *
+     * @throws IllegalStateException Si la tabla alcanzo su capacidad maxima. En ese caso, la tabla no se modifica
+     */
+    void insert(int index, long key, long value) {
+        if (size == resizeThreshold && mask + 1 == maxCapacity) {
+            // Checked before writing the key, so a full table is left unchanged
+            throw new IllegalStateException("The table has reached its maximum capacity of " + maxCapacity);
+        }
+        keys.put(index, key);
+        if (withValues) {
+            values.put(index, value);
+        }
+        if (++size > resizeThreshold) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        int capacity = mask + 1;
+        LongBuffer oldKeys = keys;
+        LongBuffer oldValues = values;
+        allocate(capacity * 2);
+        for (int i = 0; i < capacity; i++) {
+            long key = oldKeys.get(i);
+            if (key != EMPTY) {
+                int index = ~indexOf(key);
+                keys.put(index, key);
+                if (withValues) {
+                    values.put(index, oldValues.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Elimina la clave de la posicion {@code index} y desplaza hacia atras las claves siguientes cuya posicion ideal no esta entre
+     * la posicion vacia y su posicion actual.
+     */
+    void delete(int index) {
+        int gap = index;
+        int current = index;
+        while (true) {
+            current = (current + 1) & mask;
+            long key = keys.get(current);
+            if (key == EMPTY) {
+                break;
+            }
+            int ideal = slot(key);
+            boolean movable = gap <= current ? ideal <= gap || ideal > current : ideal <= gap && ideal > current;
+            if (movable) {
+                keys.put(gap, key);
+                if (withValues) {
+                    values.put(gap, values.get(current));
+                }
+                gap = current;
+            }
+        }
+        keys.put(gap, EMPTY);
+        size--;
+    }
+
+    long keyAt(int index) {
+        return keys.get(index);
+    }
+
+    long valueAt(int index) {
+        return values.get(index);
+    }
+
+    void setValueAt(int index, long value) {
+        values.put(index, value);
+    }
+
+    /**
+     * Devuelve la cantidad de posiciones de la tabla. Las claves se recorren con {@link #keyAt(int)}.
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    static boolean isEmpty(long key) {
+        return key == EMPTY;
+    }
+
+    /**
+     * Devuelve la cantidad de elementos.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Indica si la tabla esta almacenada fuera del heap.
+     */
+    boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Elimina todos los elementos. La capacidad de la tabla no cambia.
+     */
+    void clear() {
+        for (int i = 0; i <= mask; i++) {
+            keys.put(i, EMPTY);
+        }
+        size = 0;
+    }
+}
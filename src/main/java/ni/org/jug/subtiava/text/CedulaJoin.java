@@ -0,0 +1,575 @@
+package ni.org.jug.subtiava.text;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * <p>
+ * Compara dos archivos de cedulas, una por linea, que pueden ser mas grandes que la memoria disponible, por ejemplo, el padron
+ * electoral y la cartera de clientes. Cada cedula distinta se clasifica segun el archivo donde aparece ({@link Membership}): en
+ * ambos (interseccion), solo en el primero o solo en el segundo (diferencias). Las lineas se obtienen igual que en
+ * {@link CedulaBatch}; las cedulas invalidas se cuentan y se descartan, y las cedulas repetidas se reportan una sola vez.
+ * </p>
+ * <p>
+ * El proceso tiene dos fases ({@link Phase}):
+ * </p>
+ * <ol>
+ * <li>{@link Phase#SORT}: cada archivo se lee mapeado en memoria y cada cedula se convierte en su representacion como
+ * {@code long} ({@link Cedula#encode(CharSequence)}), cuyo orden numerico es el orden de los digitos de la cedula. Cada
+ * {@code runSize} cedulas se ordenan en memoria, se eliminan los duplicados y se escriben en un archivo temporal.</li>
+ * <li>{@link Phase#MERGE}: los archivos temporales de cada archivo de entrada se mezclan (si son demasiados, primero se mezclan
+ * en grupos de {@code fanIn} archivos) y las dos secuencias ordenadas resultantes se recorren a la vez, entregando cada cedula a
+ * un {@link ResultConsumer} en orden ascendente.</li>
+ * </ol>
+ * <p>
+ * La memoria utilizada no depende del tamano de los archivos: {@code runSize} valores {@code long} durante la primera fase y un
+ * buffer por archivo temporal abierto durante la segunda. Los archivos temporales se eliminan al terminar.
+ * </p>
+ * <pre>
+ * CedulaJoin.Report report = new CedulaJoin().join(padron, clientes, (cedula, membership) -&gt; {
+ *     if (membership == CedulaJoin.Membership.BOTH) {
+ *         // cliente que esta en el padron
+ *     }
+ * });
+ * </pre>
+ * <p>
+ * Esta clase es inmutable y <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class CedulaJoin {
+    /**
+     * Cantidad de cedulas por defecto que se ordenan en memoria (32 MB).
+     */
+    public static final int DEFAULT_RUN_SIZE = 4 << 20;
+
+    /**
+     * Cantidad maxima de archivos temporales que se mezclan a la vez.
+     */
+    static final int DEFAULT_FAN_IN = 64;
+
+    /**
+     * Tamano, en bytes, del buffer de cada archivo temporal.
+     */
+    static final int DEFAULT_BUFFER_SIZE = 64 << 10;
+
+    /**
+     * Cantidad de cedulas procesadas entre dos notificaciones de avance de la fase {@link Phase#MERGE}.
+     */
+    private static final long PROGRESS_INTERVAL = 1 << 20;
+
+    private final Path tempDirectory;
+    private final int runSize;
+    private final int fanIn;
+    private final int bufferSize;
+    private final int chunkSize;
+
+    /**
+     * Archivo en el que aparece una cedula.
+     */
+    public enum Membership {
+        BOTH, LEFT_ONLY, RIGHT_ONLY
+    }
+
+    /**
+     * Fase del proceso.
+     */
+    public enum Phase {
+        SORT, MERGE
+    }
+
+    /**
+     * Recibe cada cedula distinta (ver {@link Cedula#encode(CharSequence)}) y el archivo en el que aparece, en orden ascendente.
+     */
+    @FunctionalInterface
+    public interface ResultConsumer {
+        void accept(long encoded, Membership membership) throws IOException;
+    }
+
+    /**
+     * Recibe el avance de cada fase: la cantidad de cedulas procesadas y el tiempo transcurrido desde el inicio de la fase.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void progress(Phase phase, long records, long elapsedNanos);
+    }
+
+    /**
+     * Crea una instancia que usa el directorio temporal del sistema y ordena {@link #DEFAULT_RUN_SIZE} cedulas en memoria.
+     */
+    public CedulaJoin() {
+        this(Paths.get(System.getProperty("java.io.tmpdir")), DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * @param tempDirectory Directorio donde se crean los archivos temporales
+     * @param runSize Cantidad de cedulas que se ordenan en memoria. Cada una ocupa 8 bytes
+     */
+    public CedulaJoin(Path tempDirectory, int runSize) {
+        this(tempDirectory, runSize, DEFAULT_FAN_IN, DEFAULT_BUFFER_SIZE, CedulaBatch.DEFAULT_CHUNK_SIZE);
+    }
+
+    CedulaJoin(Path tempDirectory, int runSize, int fanIn, int bufferSize, int chunkSize) {
+        Objects.requireNonNull(tempDirectory, "[tempDirectory] is required");
+        if (runSize < 1) {
+            throw new IllegalArgumentException("[runSize] must be greater than 0");
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("[fanIn] must be greater than 1");
+        }
+        if (bufferSize < Long.BYTES || bufferSize % Long.BYTES != 0) {
+            throw new IllegalArgumentException("[bufferSize] must be a positive multiple of " + Long.BYTES);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("[chunkSize] must be greater than 0");
+        }
+        this.tempDirectory = tempDirectory;
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+        this.bufferSize = bufferSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Compara los archivos y escribe en {@code output} las cedulas de {@code membership}, una por linea, con digitos ASCII y la
+     * letra de verificacion en mayuscula. Si el archivo de salida existe, su contenido se reemplaza.
+     */
+    public Report join(Path left, Path right, Path output, Membership membership) throws IOException {
+        return join(left, right, output, membership, null);
+    }
+
+    /**
+     * Ver {@link #join(Path, Path, Path, Membership)}.
+     *
+     * @param listener Recibe el avance de cada fase. Puede ser {@code null}
+     */
+    public Report join(Path left, Path right, Path output, Membership membership, ProgressListener listener) throws IOException {
+        Objects.requireNonNull(output, "[output] is required");
+        Objects.requireNonNull(membership, "[membership] is required");
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            return join(left, right, (encoded, current) -> {
+                if (current == membership) {
+                    writer.write(Cedula.decodeToString(encoded));
+                    writer.write('\n');
+                }
+            }, listener);
+        }
+    }
+
+    /**
+     * Compara los archivos y entrega cada cedula distinta a {@code consumer}. Ver
+     * {@link #join(Path, Path, ResultConsumer, ProgressListener)}.
+     */
+    public Report join(Path left, Path right, ResultConsumer consumer) throws IOException {
+        return join(left, right, consumer, null);
+    }
+
+    /**
+     * Compara los archivos y entrega cada cedula distinta a {@code consumer}, en orden ascendente, junto con el archivo en el que
+     * aparece.
+     *
+     * @param left Primer archivo, con una cedula por linea
+     * @param right Segundo archivo, con una cedula por linea
+     * @param consumer Recibe el resultado
+     * @param listener Recibe el avance de cada fase. Puede ser {@code null}
+     * @return Resumen del proceso
+     * @throws IOException Si ocurre un error al leer los archivos, al escribir los archivos temporales o en {@code consumer}
+     * @throws IllegalArgumentException Si alguna linea es mas grande que un bloque
+     */
+    public Report join(Path left, Path right, ResultConsumer consumer, ProgressListener listener) throws IOException {
+        Objects.requireNonNull(left, "[left] is required");
+        Objects.requireNonNull(right, "[right] is required");
+        Objects.requireNonNull(consumer, "[consumer] is required");
+
+        Report report = new Report();
+        List<Path> leftRuns = new ArrayList<>();
+        List<Path> rightRuns = new ArrayList<>();
+        try {
+            Progress sort = new Progress(Phase.SORT, listener);
+            long[] run = new long[runSize];
+            sort(left, run, leftRuns, report.leftSummary, sort);
+            sort(right, run, rightRuns, report.rightSummary, sort);
+            report.finish(sort);
+
+            Progress merge = new Progress(Phase.MERGE, listener);
+            reduce(leftRuns, merge);
+            reduce(rightRuns, merge);
+            try (Cursor leftCursor = new Cursor(leftRuns, bufferSize); Cursor rightCursor = new Cursor(rightRuns, bufferSize)) {
+                join(leftCursor, rightCursor, consumer, report, merge);
+            }
+            report.finish(merge);
+        } finally {
+            deleteAll(leftRuns);
+            deleteAll(rightRuns);
+        }
+        return report;
+    }
+
+    /**
+     * Lee las cedulas de {@code input} y escribe un archivo temporal ordenado cada vez que se llena {@code run}.
+     */
+    private void sort(Path input, long[] run, List<Path> runs, CedulaValidationSummary summary, Progress progress)
+            throws IOException {
+        int count = 0;
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            MappedLines chunks = new MappedLines(in, chunkSize);
+            MappedByteBuffer chunk;
+            while ((chunk = chunks.nextChunk()) != null) {
+                MappedLines.Cursor lines = new MappedLines.Cursor(chunk);
+                while (lines.next()) {
+                    CedulaValidation validation = Cedula.checkUtf8(chunk, lines.start(), lines.length());
+                    summary.add(validation);
+                    if (validation == CedulaValidation.VALID) {
+                        run[count++] = Cedula.encodeValidUtf8(chunk, lines.start(), lines.length());
+                        if (count == run.length) {
+                            runs.add(writeRun(run, count));
+                            count = 0;
+                        }
+                    }
+                    progress.records++;
+                }
+                progress.notifyListener();
+            }
+        }
+        if (count > 0) {
+            runs.add(writeRun(run, count));
+        }
+    }
+
+    /**
+     * Ordena las primeras {@code count} cedulas de {@code run} y las escribe, sin duplicados, en un archivo temporal.
+     */
+    private Path writeRun(long[] run, int count) throws IOException {
+        // Arrays.sort sorts in place; Arrays.parallelSort would allocate a second array of the same size
+        Arrays.sort(run, 0, count);
+        Path path = Files.createTempFile(tempDirectory, "cedulas", ".run");
+        try (RunWriter writer = new RunWriter(path, bufferSize)) {
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || run[i] != run[i - 1]) {
+                    writer.write(run[i]);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(path);
+            throw ex;
+        }
+        return path;
+    }
+
+    /**
+     * Mezcla los archivos temporales en grupos de {@link #fanIn} hasta que se puedan abrir todos a la vez.
+     */
+    private void reduce(List<Path> runs, Progress progress) throws IOException {
+        while (runs.size() > fanIn) {
+            List<Path> group = new ArrayList<>(runs.subList(0, fanIn));
+            Path path = Files.createTempFile(tempDirectory, "cedulas", ".run");
+            runs.add(path);
+            try (Cursor cursor = new Cursor(group, bufferSize); RunWriter writer = new RunWriter(path, bufferSize)) {
+                while (cursor.next()) {
+                    writer.write(cursor.value);
+                    progress.increment();
+                }
+            }
+            runs.subList(0, fanIn).clear();
+            deleteAll(group);
+        }
+    }
+
+    private static void join(Cursor left, Cursor right, ResultConsumer consumer, Report report, Progress progress)
+            throws IOException {
+        boolean hasLeft = left.next();
+        boolean hasRight = right.next();
+        while (hasLeft || hasRight) {
+            Membership membership;
+            long encoded;
+            if (hasLeft && hasRight && left.value == right.value) {
+                membership = Membership.BOTH;
+                encoded = left.value;
+                hasLeft = left.next();
+                hasRight = right.next();
+            } else if (hasLeft && (!hasRight || left.value < right.value)) {
+                membership = Membership.LEFT_ONLY;
+                encoded = left.value;
+                hasLeft = left.next();
+            } else {
+                membership = Membership.RIGHT_ONLY;
+                encoded = right.value;
+                hasRight = right.next();
+            }
+            report.counts[membership.ordinal()]++;
+            consumer.accept(encoded, membership);
+            progress.increment();
+        }
+    }
+
+    private static void deleteAll(List<Path> paths) throws IOException {
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+        paths.clear();
+    }
+
+    /**
+     * Avance de una fase del proceso.
+     */
+    private static final class Progress {
+        final Phase phase;
+        final ProgressListener listener;
+        final long start = System.nanoTime();
+        long records;
+
+        Progress(Phase phase, ProgressListener listener) {
+            this.phase = phase;
+            this.listener = listener;
+        }
+
+        void increment() {
+            if (++records % PROGRESS_INTERVAL == 0) {
+                notifyListener();
+            }
+        }
+
+        void notifyListener() {
+            if (listener != null) {
+                listener.progress(phase, records, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Escribe valores {@code long} en un archivo temporal.
+     */
+    private static final class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path path, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        void write(long value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putLong(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Lee los valores {@code long} de un archivo temporal.
+     */
+    private static final class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        long value;
+
+        RunReader(Path path, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            buffer.flip();
+        }
+
+        /**
+         * Avanza al siguiente valor.
+         *
+         * @return {@code false} si no hay mas valores
+         */
+        boolean next() throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                // The file holds whole longs, so a full read leaves a multiple of 8 bytes in the buffer
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // Keep reading until the buffer is full or the end of the file
+                }
+                buffer.flip();
+                if (!buffer.hasRemaining()) {
+                    return false;
+                }
+            }
+            value = buffer.getLong();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Recorre en orden ascendente y sin duplicados los valores de varios archivos temporales ordenados.
+     */
+    private static final class Cursor implements Closeable {
+        private final List<RunReader> readers = new ArrayList<>();
+        private final PriorityQueue<RunReader> queue;
+        private boolean started;
+        long value;
+
+        Cursor(List<Path> runs, int bufferSize) throws IOException {
+            queue = new PriorityQueue<>(Math.max(1, runs.size()), Comparator.comparingLong(reader -> reader.value));
+            try {
+                for (Path run : runs) {
+                    RunReader reader = new RunReader(run, bufferSize);
+                    readers.add(reader);
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        /**
+         * Avanza al siguiente valor distinto.
+         *
+         * @return {@code false} si no hay mas valores
+         */
+        boolean next() throws IOException {
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                long current = reader.value;
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+                if (!started || current != value) {
+                    started = true;
+                    value = current;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException error = null;
+            for (RunReader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException ex) {
+                    if (error == null) {
+                        error = ex;
+                    } else {
+                        error.addSuppressed(ex);
+                    }
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * Resumen de la comparacion de dos archivos.
+     */
+    public static final class Report {
+        private final CedulaValidationSummary leftSummary = new CedulaValidationSummary();
+        private final CedulaValidationSummary rightSummary = new CedulaValidationSummary();
+        private final long[] counts = new long[Membership.values().length];
+        private final Map<Phase, long[]> phases = new EnumMap<>(Phase.class);
+
+        Report() {
+        }
+
+        private void finish(Progress progress) {
+            phases.put(progress.phase, new long[]{progress.records, System.nanoTime() - progress.start});
+            progress.notifyListener();
+        }
+
+        /**
+         * Devuelve la cantidad de cedulas del primer archivo por resultado de validacion.
+         */
+        public CedulaValidationSummary getLeftSummary() {
+            return leftSummary;
+        }
+
+        /**
+         * Devuelve la cantidad de cedulas del segundo archivo por resultado de validacion.
+         */
+        public CedulaValidationSummary getRightSummary() {
+            return rightSummary;
+        }
+
+        /**
+         * Devuelve la cantidad de cedulas distintas que aparecen en el archivo indicado por {@code membership}.
+         */
+        public long getCount(Membership membership) {
+            Objects.requireNonNull(membership, "[membership] is required");
+            return counts[membership.ordinal()];
+        }
+
+        /**
+         * Devuelve la cantidad de cedulas procesadas en la fase: lineas leidas en {@link Phase#SORT} y cedulas escritas en
+         * archivos temporales intermedios o entregadas al {@link ResultConsumer} en {@link Phase#MERGE}.
+         */
+        public long getRecordCount(Phase phase) {
+            return phase(phase)[0];
+        }
+
+        public long getElapsedNanos(Phase phase) {
+            return phase(phase)[1];
+        }
+
+        public double getRecordsPerSecond(Phase phase) {
+            long elapsedNanos = getElapsedNanos(phase);
+            return elapsedNanos == 0 ? 0 : getRecordCount(phase) * 1_000_000_000d / elapsedNanos;
+        }
+
+        private long[] phase(Phase phase) {
+            Objects.requireNonNull(phase, "[phase] is required");
+            return phases.getOrDefault(phase, new long[2]);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format("%d cedulas in both files, %d only in the first, %d only in the second",
+                    counts[0], counts[1], counts[2]));
+            text.append(String.format(" (%d and %d invalid)", leftSummary.getInvalidCount(), rightSummary.getInvalidCount()));
+            for (Phase phase : Phase.values()) {
+                text.append(String.format("; %s: %d records in %.3f s (%.0f records/s)", phase, getRecordCount(phase),
+                        getElapsedNanos(phase) / 1e9, getRecordsPerSecond(phase)));
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package ni.org.jug.subtiava.text;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * Mapa de cedulas representadas como {@code long} (ver {@link Cedula#encode(CharSequence)}) a valores {@code long}, por ejemplo,
+ * el numero de cliente de cada cedula o la cantidad de veces que aparece en un archivo ({@link #addTo(long, long)}). Las claves y
+ * los valores se almacenan en dos tablas de direccionamiento abierto, sin crear un objeto por cada elemento; ver
+ * {@link CedulaSet}.
+ * </p>
+ * <p>
+ * Esta clase <strong>NO</strong> es threadsafe.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class CedulaLongMap {
+    private final CedulaHashTable table;
+
+    /**
+     * Recibe cada cedula del mapa y su valor.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long encoded, long value);
+    }
+
+    /**
+     * Crea un mapa vacio en el heap.
+     */
+    public CedulaLongMap() {
+        this(0);
+    }
+
+    /**
+     * Crea un mapa vacio en el heap con capacidad para {@code expectedSize} cedulas sin tener que crecer.
+     *
+     * @throws IllegalArgumentException Si {@code expectedSize} es negativo o excede la capacidad maxima
+     */
+    public CedulaLongMap(int expectedSize) {
+        this(expectedSize, false);
+    }
+
+    private CedulaLongMap(int expectedSize, boolean offHeap) {
+        this.table = new CedulaHashTable(expectedSize, offHeap, true);
+    }
+
+    /**
+     * Crea un mapa vacio fuera del heap con capacidad para {@code expectedSize} cedulas sin tener que crecer.
+     *
+     * @throws IllegalArgumentException Si {@code expectedSize} es negativo o excede la capacidad maxima
+     */
+    public static CedulaLongMap offHeap(int expectedSize) {
+        return new CedulaLongMap(expectedSize, true);
+    }
+
+    /**
+     * Asocia el valor a la cedula, reemplazando el valor anterior si existe.
+     *
+     * @param encoded La representacion de la cedula
+     * @param value El valor
+     * @throws IllegalArgumentException Si {@code encoded} no es positivo
+     * @throws IllegalStateException Si el mapa alcanzo su capacidad maxima
+     */
+    public void put(long encoded, long value) {
+        int index = table.indexOf(encoded);
+        if (index >= 0) {
+            table.setValueAt(index, value);
+        } else {
+            table.insert(~index, encoded, value);
+        }
+    }
+
+    /**
+     * Suma {@code delta} al valor de la cedula. Si la cedula no esta en el mapa, se agrega con el valor {@code delta}.
+     *
+     * @param encoded La representacion de la cedula
+     * @param delta El valor a sumar
+     * @return El nuevo valor de la cedula
+     * @throws IllegalArgumentException Si {@code encoded} no es positivo
+     * @throws IllegalStateException Si el mapa alcanzo su capacidad maxima
+     */
+    public long addTo(long encoded, long delta) {
+        int index = table.indexOf(encoded);
+        if (index >= 0) {
+            long value = table.valueAt(index) + delta;
+            table.setValueAt(index, value);
+            return value;
+        }
+        table.insert(~index, encoded, delta);
+        return delta;
+    }
+
+    /**
+     * Devuelve el valor de la cedula o {@code defaultValue} si la cedula no esta en el mapa.
+     *
+     * @throws IllegalArgumentException Si {@code encoded} no es positivo
+     */
+    public long getOrDefault(long encoded, long defaultValue) {
+        int index = table.indexOf(encoded);
+        return index >= 0 ? table.valueAt(index) : defaultValue;
+    }
+
+    /**
+     * Indica si la cedula esta en el mapa.
+     *
+     * @throws IllegalArgumentException Si {@code encoded} no es positivo
+     */
+    public boolean containsKey(long encoded) {
+        return table.indexOf(encoded) >= 0;
+    }
+
+    /**
+     * Elimina la cedula del mapa.
+     *
+     * @return {@code true} si la cedula estaba en el mapa
+     * @throws IllegalArgumentException Si {@code encoded} no es positivo
+     */
+    public boolean remove(long encoded) {
+        int index = table.indexOf(encoded);
+        if (index < 0) {
+            return false;
+        }
+        table.delete(index);
+        return true;
+    }
+
+    /**
+     * Entrega a {@code action} cada una de las cedulas del mapa y su valor, en un orden no especificado.
+     */
+    public void forEach(EntryConsumer action) {
+        Objects.requireNonNull(action, "[action] is required");
+        for (int i = 0, capacity = table.capacity(); i < capacity; i++) {
+            long encoded = table.keyAt(i);
+            if (!CedulaHashTable.isEmpty(encoded)) {
+                action.accept(encoded, table.valueAt(i));
+            }
+        }
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public boolean isEmpty() {
+        return table.size() == 0;
+    }
+
+    public boolean isOffHeap() {
+        return table.isOffHeap();
+    }
+
+    /**
+     * Elimina todas las cedulas. La capacidad del mapa no cambia.
+     */
+    public void clear() {
+        table.clear();
+    }
+}
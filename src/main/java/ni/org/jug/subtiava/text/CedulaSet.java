@@ -0,0 +1,155 @@
+package ni.org.jug.subtiava.text;
+
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * <p>
+ * Conjunto de cedulas representadas como {@code long} (ver {@link Cedula#encode(CharSequence)}), para verificar pertenencia y
+ * eliminar duplicados en colecciones de decenas de millones de cedulas. Cada cedula ocupa entre 11 y 21 bytes (un {@code long}
+ * en una tabla de direccionamiento abierto con una ocupacion entre 37.5% y 75%), en lugar de las cinco referencias y cuatro
+ * instancias de {@link String} de una instancia de {@link Cedula}.
+ * </p>
+ * <p>
+ * La tabla se puede almacenar fuera del heap ({@link #offHeap(int)}), de manera que no aumenta el tiempo de las pausas del
+ * recolector de basura. La memoria fuera del heap se libera cuando el conjunto deja de ser alcanzable.
+ * </p>
+ * <pre>
+ * CedulaSet seen = new CedulaSet(10_000_000);
+ * for (String cedula : cedulas) {
+ *     long encoded = Cedula.encode(cedula);
+ *     if (encoded != Cedula.INVALID_ENCODING &amp;&amp; !seen.add(encoded)) {
+ *         // cedula duplicada
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * Esta clase <strong>NO</strong> es threadsafe.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class CedulaSet {
+    private final CedulaHashTable table;
+
+    /**
+     * Crea un conjunto vacio en el heap.
+     */
+    public CedulaSet() {
+        this(0);
+    }
+
+    /**
+     * Crea un conjunto vacio en el heap con capacidad para {@code expectedSize} cedulas sin tener que crecer.
+     *
+     * @throws IllegalArgumentException Si {@code expectedSize} es negativo o excede la capacidad maxima
+     */
+    public CedulaSet(int expectedSize) {
+        this(expectedSize, false);
+    }
+
+    private CedulaSet(int expectedSize, boolean offHeap) {
+        this.table = new CedulaHashTable(expectedSize, offHeap, false);
+    }
+
+    /**
+     * Crea un conjunto vacio fuera del heap con capacidad para {@code expectedSize} cedulas sin tener que crecer.
+     *
+     * @throws IllegalArgumentException Si {@code expectedSize} es negativo o excede la capacidad maxima
+     */
+    public static CedulaSet offHeap(int expectedSize) {
+        return new CedulaSet(expectedSize, true);
+    }
+
+    /**
+     * Agrega la cedula al conjunto.
+     *
+     * @param encoded La representacion de la cedula
+     * @return {@code true} si la cedula no estaba en el conjunto
+     * @throws IllegalArgumentException Si {@code encoded} no es positivo
+     * @throws IllegalStateException Si el conjunto alcanzo su capacidad maxima
+     */
+    public boolean add(long encoded) {
+        int index = table.indexOf(encoded);
+        if (index >= 0) {
+            return false;
+        }
+        table.insert(~index, encoded, 0);
+        return true;
+    }
+
+    /**
+     * Agrega la cedula al conjunto. Ver {@link #add(long)}.
+     */
+    public boolean add(Cedula cedula) {
+        Objects.requireNonNull(cedula, "[cedula] is required");
+        return add(cedula.toLong());
+    }
+
+    /**
+     * Indica si la cedula esta en el conjunto.
+     *
+     * @param encoded La representacion de la cedula
+     * @throws IllegalArgumentException Si {@code encoded} no es positivo
+     */
+    public boolean contains(long encoded) {
+        return table.indexOf(encoded) >= 0;
+    }
+
+    /**
+     * Indica si la cedula esta en el conjunto. Ver {@link #contains(long)}.
+     */
+    public boolean contains(Cedula cedula) {
+        Objects.requireNonNull(cedula, "[cedula] is required");
+        return contains(cedula.toLong());
+    }
+
+    /**
+     * Elimina la cedula del conjunto.
+     *
+     * @param encoded La representacion de la cedula
+     * @return {@code true} si la cedula estaba en el conjunto
+     * @throws IllegalArgumentException Si {@code encoded} no es positivo
+     */
+    public boolean remove(long encoded) {
+        int index = table.indexOf(encoded);
+        if (index < 0) {
+            return false;
+        }
+        table.delete(index);
+        return true;
+    }
+
+    /**
+     * Entrega a {@code action} cada una de las cedulas del conjunto, en un orden no especificado.
+     */
+    public void forEach(LongConsumer action) {
+        Objects.requireNonNull(action, "[action] is required");
+        for (int i = 0, capacity = table.capacity(); i < capacity; i++) {
+            long encoded = table.keyAt(i);
+            if (!CedulaHashTable.isEmpty(encoded)) {
+                action.accept(encoded);
+            }
+        }
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public boolean isEmpty() {
+        return table.size() == 0;
+    }
+
+    public boolean isOffHeap() {
+        return table.isOffHeap();
+    }
+
+    /**
+     * Elimina todas las cedulas. La capacidad del conjunto no cambia.
+     */
+    public void clear() {
+        table.clear();
+    }
+}
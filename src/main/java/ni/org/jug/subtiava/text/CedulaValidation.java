@@ -0,0 +1,57 @@
+package ni.org.jug.subtiava.text;
+
+/**
+ * Resultado de la validacion de una cedula (ver {@link Cedula#check(CharSequence)}). Cada valor distinto de {@link #VALID} indica
+ * la primera regla que la cedula no cumple, en el orden en que se aplican las reglas.
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public enum CedulaValidation {
+    /**
+     * La cedula es valida.
+     */
+    VALID,
+
+    /**
+     * La cedula es {@code null} o no tiene {@link Cedula#NATIONAL_ID_LENGTH} caracteres.
+     */
+    INVALID_LENGTH,
+
+    /**
+     * Alguno de los primeros 13 caracteres no es un digito, o el ultimo caracter es un digito o una letra que no forma parte de
+     * {@link Cedula#VALID_CHARACTERS}.
+     */
+    INVALID_CHARACTER,
+
+    /**
+     * La fecha de nacimiento (ddmmyy) no es una fecha valida en el siglo XX ni en el siglo XXI.
+     */
+    INVALID_DATE,
+
+    /**
+     * El ultimo caracter no es la letra que corresponde a los primeros 13 digitos.
+     */
+    INVALID_CHECK_DIGIT;
+
+    private static final CedulaValidation[] VALUES = values();
+
+    /**
+     * Devuelve el valor cuyo {@link #ordinal()} es {@code ordinal}. Permite almacenar el resultado como un entero primitivo.
+     *
+     * @throws IllegalArgumentException Si no existe un valor con el ordinal especificado
+     */
+    public static CedulaValidation ofOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VALUES.length) {
+            throw new IllegalArgumentException("Invalid ordinal [" + ordinal + "]");
+        }
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Indica si la cedula es valida.
+     */
+    public boolean isValid() {
+        return this == VALID;
+    }
+}
@@ -0,0 +1,114 @@
+package ni.org.jug.subtiava.text;
+
+import java.util.Objects;
+import java.util.stream.Collector;
+
+/**
+ * <p>
+ * Cantidad de cedulas por resultado de validacion ({@link CedulaValidation}), por ejemplo, para diagnosticar la limpieza de un
+ * padron. Los contadores se almacenan en un arreglo indexado por {@link CedulaValidation#ordinal()}.
+ * </p>
+ * <pre>
+ * CedulaValidationSummary summary = CedulaValidationSummary.of(cedulas);
+ * long invalidDates = summary.getCount(CedulaValidation.INVALID_DATE);
+ *
+ * // En paralelo
+ * summary = lines.parallelStream().collect(CedulaValidationSummary.collector());
+ * </pre>
+ * <p>
+ * Esta clase <strong>NO</strong> es threadsafe; para procesar en paralelo, cada hilo debe usar su propia instancia y los
+ * resultados se combinan con {@link #merge(CedulaValidationSummary)}.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class CedulaValidationSummary {
+    private final long[] counts = new long[CedulaValidation.values().length];
+
+    /**
+     * Valida cada una de las cedulas y cuenta los resultados.
+     *
+     * @param cedulas Las cedulas a validar. Pueden contener valores {@code null}
+     * @return El resumen de la validacion
+     */
+    public static CedulaValidationSummary of(Iterable<? extends CharSequence> cedulas) {
+        Objects.requireNonNull(cedulas, "[cedulas] is required");
+        CedulaValidationSummary summary = new CedulaValidationSummary();
+        for (CharSequence cedula : cedulas) {
+            summary.add(cedula);
+        }
+        return summary;
+    }
+
+    /**
+     * Devuelve un {@link Collector} que valida cada cedula del {@code stream} y cuenta los resultados. Se puede usar con
+     * {@code stream} paralelos.
+     */
+    public static Collector<CharSequence, ?, CedulaValidationSummary> collector() {
+        return Collector.of(CedulaValidationSummary::new, CedulaValidationSummary::add, CedulaValidationSummary::merge);
+    }
+
+    /**
+     * Valida la cedula y cuenta el resultado.
+     *
+     * @param cedula La cedula a validar. Puede ser {@code null}
+     * @return El resultado de la validacion
+     */
+    public CedulaValidation add(CharSequence cedula) {
+        CedulaValidation validation = Cedula.check(cedula);
+        counts[validation.ordinal()]++;
+        return validation;
+    }
+
+    /**
+     * Cuenta un resultado de validacion obtenido previamente.
+     */
+    public void add(CedulaValidation validation) {
+        Objects.requireNonNull(validation, "[validation] is required");
+        counts[validation.ordinal()]++;
+    }
+
+    /**
+     * Suma los contadores de {@code other} a los contadores de esta instancia.
+     *
+     * @return Esta instancia
+     */
+    public CedulaValidationSummary merge(CedulaValidationSummary other) {
+        Objects.requireNonNull(other, "[other] is required");
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        return this;
+    }
+
+    public long getCount(CedulaValidation validation) {
+        Objects.requireNonNull(validation, "[validation] is required");
+        return counts[validation.ordinal()];
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getValidCount() {
+        return counts[CedulaValidation.VALID.ordinal()];
+    }
+
+    public long getInvalidCount() {
+        return getTotalCount() - getValidCount();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Validated cedulas: ").append(getTotalCount());
+        for (CedulaValidation validation : CedulaValidation.values()) {
+            text.append(", ").append(validation).append(": ").append(counts[validation.ordinal()]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,304 @@
+package ni.org.jug.subtiava.text;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Formato precompilado para expresar montos en texto, por ejemplo: {@code "** un mil quinientos cordobas con 45/100 **"}. Es una
+ * alternativa a {@link Number2Text#toText(java.util.function.BiFunction)} para los formatos que se repiten en cada conversion: el
+ * prefijo, el nombre de la moneda (singular y plural), el texto de los centavos y el sufijo se combinan una sola vez, al crear la
+ * instancia, en una tabla con el texto que sigue al numero para cada valor posible de los centavos (0 a 99). Cada conversion se
+ * reduce a escribir el prefijo, el numero y la entrada de la tabla que corresponde, sin crear instancias de {@link Integer} ni
+ * concatenar texto adicional.
+ * </p>
+ * <p>
+ * Las instancias se crean con {@link #builder(Number2TextConverter)}:
+ * </p>
+ * <pre>
+ * CurrencyFormat format = CurrencyFormat.builder(Number2Text.spanish())
+ *         .prefix("** ")
+ *         .currency("cordoba", "cordobas")
+ *         .suffix(" **")
+ *         .build();
+ * format.format(1_500, 45); // ** un mil quinientos cordobas con 45/100 **
+ * </pre>
+ * <p>
+ * Esta clase es inmutable y <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class CurrencyFormat {
+    /**
+     * Describe como se expresan los centavos del monto.
+     */
+    private enum CentsStyle {
+        /**
+         * Los centavos no se incluyen en el texto.
+         */
+        NONE,
+        /**
+         * Los centavos se expresan como fraccion, usando el formato del idioma. Por ejemplo: {@code con 45/100}.
+         */
+        FRACTION,
+        /**
+         * Los centavos se expresan en letras. Por ejemplo: {@code con cuarenta y cinco centavos}.
+         */
+        WORDS
+    }
+
+    /**
+     * Posicion en la tabla del texto que se usa cuando el monto no tiene parte decimal.
+     */
+    private static final int NO_DECIMAL = 100;
+
+    private final Number2TextConverter converter;
+    private final String prefix;
+
+    /**
+     * Texto que sigue al numero, indexado primero por la forma del nombre de la moneda (0: singular, 1: plural) y luego por el
+     * valor de los centavos. La posicion {@link #NO_DECIMAL} corresponde a un monto sin parte decimal.
+     */
+    private final String[][] tails;
+
+    /**
+     * Indica, para cada entrada de {@link #tails}, si el texto empieza con el nombre de la moneda. En ese caso el numero se
+     * traduce en la forma que se usa antes de un sustantivo: {@code un cordoba} y no {@code uno cordoba}.
+     */
+    private final boolean[][] beforeNoun;
+
+    /**
+     * Longitud maxima de las entradas de {@link #tails}.
+     */
+    private final int maxTailLength;
+
+    private CurrencyFormat(Builder builder) {
+        this.converter = builder.converter;
+        this.prefix = builder.prefix;
+        this.tails = new String[][]{tails(builder, builder.currencySingular), tails(builder, builder.currencyPlural)};
+        this.beforeNoun = new boolean[][]{beforeNoun(builder, builder.currencySingular), beforeNoun(builder, builder.currencyPlural)};
+
+        int maxLength = 0;
+        for (String[] forms : tails) {
+            for (String tail : forms) {
+                maxLength = Math.max(maxLength, tail.length());
+            }
+        }
+        this.maxTailLength = maxLength;
+    }
+
+    private static String[] tails(Builder builder, String currency) {
+        Number2Text language = builder.converter.language();
+        String[] tails = new String[NO_DECIMAL + 1];
+
+        for (int decimal = 0; decimal <= NO_DECIMAL; decimal++) {
+            StringBuilder tail = new StringBuilder();
+            if (!builder.currencyAfterCents) {
+                appendWord(tail, currency);
+            }
+            if (decimal != NO_DECIMAL) {
+                switch (builder.centsStyle) {
+                    case FRACTION:
+                        tail.append(' ').append(language.withDecimalFraction(decimal));
+                        break;
+                    case WORDS:
+                        appendWord(tail, builder.centsConnector);
+                        // The cents precede their name, so the short form of 'one' is used ('un' instead of 'uno' in spanish)
+                        tail.append(' ').append(language.renderGroup(decimal, 1, 0));
+                        appendWord(tail, decimal == 1 ? builder.centsSingular : builder.centsPlural);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (builder.currencyAfterCents) {
+                appendWord(tail, currency);
+            }
+            tails[decimal] = tail.append(builder.suffix).toString();
+        }
+
+        return tails;
+    }
+
+    private static boolean[] beforeNoun(Builder builder, String currency) {
+        boolean[] beforeNoun = new boolean[NO_DECIMAL + 1];
+        if (currency != null && !currency.isEmpty()) {
+            for (int decimal = 0; decimal <= NO_DECIMAL; decimal++) {
+                // When the currency goes after the cents, it only follows the number if there are no cents to write
+                beforeNoun[decimal] = !builder.currencyAfterCents || decimal == NO_DECIMAL || builder.centsStyle == CentsStyle.NONE;
+            }
+        }
+        return beforeNoun;
+    }
+
+    private static void appendWord(StringBuilder output, String word) {
+        if (word != null && !word.isEmpty()) {
+            output.append(' ').append(word);
+        }
+    }
+
+    /**
+     * Crea un {@link Builder} para definir el formato de los montos convertidos con {@code converter}.
+     *
+     * @param converter El convertidor del idioma. Ver {@link Number2Text#spanish()} y {@link Number2Text#english()}
+     * @return Una nueva instancia de {@link Builder}
+     */
+    public static Builder builder(Number2TextConverter converter) {
+        return new Builder(converter);
+    }
+
+    /**
+     * Convierte el numero a texto, sin parte decimal, aplicando el formato.
+     *
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    public String format(long number) {
+        return format(number, -1);
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto aplicando el formato.
+     *
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero: 0 a 99. Si su valor es -1, no se incluyen los centavos
+     * @return El monto en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal esta fuera del rango [-1, 99]
+     */
+    public String format(long number, int decimal) {
+        return appendTo(new StringBuilder(prefix.length() + 160 + maxTailLength), number, decimal).toString();
+    }
+
+    /**
+     * Convierte un numero de tipo {@link BigDecimal} a texto aplicando el formato. La parte decimal se redondea a 2 digitos, igual
+     * que en {@link Number2TextConverter#convert(BigDecimal)}.
+     *
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    public String format(BigDecimal amount) {
+        Objects.requireNonNull(amount, "[amount] is required");
+        long split = Amounts.split(amount);
+        return format(Amounts.integerOf(amount, split), Amounts.decimalOf(amount, split));
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto aplicando el formato y agrega el resultado al final de {@code output}.
+     *
+     * @param output Destino del texto
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero: 0 a 99. Si su valor es -1, no se incluyen los centavos
+     * @return La misma instancia de {@code output}
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal esta fuera del rango [-1, 99]
+     */
+    public StringBuilder appendTo(StringBuilder output, long number, int decimal) {
+        Objects.requireNonNull(output, "[output] is required");
+        if (decimal < -1 || decimal > 99) {
+            throw new IllegalArgumentException("Decimal [" + decimal + "] is out of bounds [-1, 99]");
+        }
+        int form = number == 1 ? 0 : 1;
+        int position = decimal == -1 ? NO_DECIMAL : decimal;
+        output.append(prefix);
+        if (beforeNoun[form][position]) {
+            converter.appendBeforeNoun(output, number);
+        } else {
+            converter.appendTo(output, number, -1, null);
+        }
+        return output.append(tails[form][position]);
+    }
+
+    /**
+     * Permite definir las partes del formato. Las partes no especificadas se omiten, excepto los centavos, que por defecto se
+     * expresan como fraccion ({@link #centsAsFraction()}).
+     */
+    public static final class Builder {
+        private final Number2TextConverter converter;
+        private String prefix = "";
+        private String suffix = "";
+        private String currencySingular;
+        private String currencyPlural;
+        private boolean currencyAfterCents;
+        private CentsStyle centsStyle = CentsStyle.FRACTION;
+        private String centsConnector;
+        private String centsSingular;
+        private String centsPlural;
+
+        private Builder(Number2TextConverter converter) {
+            this.converter = Objects.requireNonNull(converter, "[converter] is required");
+        }
+
+        /**
+         * Texto que precede al monto.
+         */
+        public Builder prefix(String prefix) {
+            this.prefix = Objects.requireNonNull(prefix, "[prefix] is required");
+            return this;
+        }
+
+        /**
+         * Texto que sigue al monto.
+         */
+        public Builder suffix(String suffix) {
+            this.suffix = Objects.requireNonNull(suffix, "[suffix] is required");
+            return this;
+        }
+
+        /**
+         * Nombre de la moneda. Se escribe despues del numero y antes de los centavos. La forma singular solo se usa cuando el
+         * numero es 1.
+         */
+        public Builder currency(String singular, String plural) {
+            this.currencySingular = Objects.requireNonNull(singular, "[singular] is required");
+            this.currencyPlural = Objects.requireNonNull(plural, "[plural] is required");
+            this.currencyAfterCents = false;
+            return this;
+        }
+
+        /**
+         * Nombre de la moneda. Se escribe despues de los centavos, por ejemplo: {@code un mil con 45/100 cordobas}.
+         */
+        public Builder currencyAfterCents(String singular, String plural) {
+            currency(singular, plural);
+            this.currencyAfterCents = true;
+            return this;
+        }
+
+        /**
+         * Omite los centavos.
+         */
+        public Builder withoutCents() {
+            this.centsStyle = CentsStyle.NONE;
+            return this;
+        }
+
+        /**
+         * Expresa los centavos como fraccion, usando el formato del idioma. Por ejemplo: {@code con 45/100}.
+         */
+        public Builder centsAsFraction() {
+            this.centsStyle = CentsStyle.FRACTION;
+            return this;
+        }
+
+        /**
+         * Expresa los centavos en letras.
+         *
+         * @param connector Texto que une el numero con los centavos. Por ejemplo: {@code con}
+         * @param singular Nombre de los centavos cuando su valor es 1. Por ejemplo: {@code centavo}
+         * @param plural Nombre de los centavos en cualquier otro caso. Por ejemplo: {@code centavos}
+         */
+        public Builder centsInWords(String connector, String singular, String plural) {
+            this.centsConnector = Objects.requireNonNull(connector, "[connector] is required");
+            this.centsSingular = Objects.requireNonNull(singular, "[singular] is required");
+            this.centsPlural = Objects.requireNonNull(plural, "[plural] is required");
+            this.centsStyle = CentsStyle.WORDS;
+            return this;
+        }
+
+        /**
+         * Crea el formato. El texto de todas las combinaciones posibles se calcula en este momento.
+         */
+        public CurrencyFormat build() {
+            return new CurrencyFormat(this);
+        }
+    }
+}
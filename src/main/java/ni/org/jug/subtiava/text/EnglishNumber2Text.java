@@ -160,8 +160,19 @@ public class EnglishNumber2Text extends Number2Text {
         return output.toString();
     }
 
+    @Override
+    protected boolean isStateless() {
+        // Subclasses may add state, so they only share the converter if they say so
+        return getClass() == EnglishNumber2Text.class;
+    }
+
     @Override
     protected String withDecimalFraction() {
-        return new StringBuilder("with ").append(getDecimal()).append("/100").toString();
+        return withDecimalFraction(getDecimal());
+    }
+
+    @Override
+    protected String withDecimalFraction(int decimal) {
+        return new StringBuilder("with ").append(decimal).append("/100").toString();
     }
 }
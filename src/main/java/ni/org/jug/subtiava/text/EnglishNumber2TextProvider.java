@@ -0,0 +1,20 @@
+package ni.org.jug.subtiava.text;
+
+import java.util.Locale;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class EnglishNumber2TextProvider implements Number2TextProvider {
+
+    @Override
+    public Locale getLocale() {
+        return Locale.ENGLISH;
+    }
+
+    @Override
+    public Number2Text createLanguage() {
+        return new EnglishNumber2Text(0);
+    }
+}
@@ -0,0 +1,110 @@
+package ni.org.jug.subtiava.text;
+
+/**
+ * <p>
+ * Recorre los {@code grupos} de un numero (ver {@link Number2Text#POWERS_OF_TEN}), del grupo de mayor magnitud al de menor
+ * magnitud, omitiendo los grupos iguales a cero. El grupo de las unidades solo se visita si es el unico grupo del numero (el
+ * numero cero). Para cada grupo se obtiene su valor, su residuo ({@code module}) y su magnitud ({@code index}), que son los
+ * argumentos de la traduccion de un grupo (ver {@link GroupTable}).
+ * </p>
+ * <pre>
+ * GroupIterator groups = new GroupIterator(number);
+ * while (groups.next()) {
+ *     table.appendTo(output, groups.value(), groups.module(), groups.index());
+ * }
+ * </pre>
+ * <p>
+ * Es la unica implementacion de la descomposicion del numero; la usan todos los metodos que traducen, miden o codifican los grupos.
+ * Esta clase <strong>NO</strong> es threadsafe.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+final class GroupIterator {
+    private final int lowestMagnitude;
+    private int magnitude = Number2Text.POWERS_OF_TEN.length - 1;
+    private long currentNumber;
+    private int value;
+    private long module;
+    private int index;
+    private int visited;
+
+    /**
+     * Recorre todos los grupos del numero.
+     *
+     * @param number Un numero entre 0 y {@link Number2Text#MAX_VALUE}
+     */
+    GroupIterator(long number) {
+        this(number, 0);
+    }
+
+    /**
+     * Recorre los grupos del numero a partir de la magnitud {@code lowestMagnitude}. Por ejemplo, con 1 se omite el grupo de
+     * las unidades.
+     *
+     * @param number Un numero entre 0 y {@link Number2Text#MAX_VALUE}
+     * @param lowestMagnitude La menor magnitud que se recorre: 0 (unidades) a 4 (billones)
+     */
+    GroupIterator(long number, int lowestMagnitude) {
+        this.currentNumber = number;
+        this.lowestMagnitude = lowestMagnitude;
+    }
+
+    /**
+     * Avanza al siguiente grupo.
+     *
+     * @return {@code true} si existe un grupo mas, {@code false} si ya se recorrieron todos
+     */
+    boolean next() {
+        long[] powers = Number2Text.POWERS_OF_TEN;
+        long remainder = currentNumber;
+
+        // Groups are visited from the highest magnitude to the lowest one, skipping the groups equal to zero
+        for (int current = magnitude; current >= lowestMagnitude; current--) {
+            long power = powers[current];
+            int groupValue = (int) (remainder / power);
+            remainder -= groupValue * power;
+            if (groupValue > 0 || current == 0) {
+                value = groupValue;
+                module = remainder;
+                index = current * 3;
+                visited++;
+                // The remaining groups are zero when there is no remainder
+                magnitude = remainder == 0 ? -1 : current - 1;
+                currentNumber = remainder;
+                return true;
+            }
+        }
+        magnitude = -1;
+        return false;
+    }
+
+    /**
+     * Valor del grupo actual: 0 a 999.
+     */
+    int value() {
+        return value;
+    }
+
+    /**
+     * Residuo de dividir el numero entre la magnitud del grupo actual, es decir, la parte del numero que sigue al grupo.
+     */
+    long module() {
+        return module;
+    }
+
+    /**
+     * Magnitud del grupo actual, expresada como exponente de 10: 0, 3, 6, 9 o 12.
+     */
+    int index() {
+        return index;
+    }
+
+    /**
+     * Indica si el grupo actual es el primero del numero, es decir, si no va precedido por un espacio.
+     */
+    boolean isFirst() {
+        return visited == 1;
+    }
+}
@@ -0,0 +1,278 @@
+package ni.org.jug.subtiava.text;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Tabla con la traduccion precalculada de todos los {@code grupos} posibles (0 a 999) de un idioma. Cada entrada contiene el
+ * texto completo del grupo, incluyendo su magnitud (mil, millon, etc), de manera que la conversion de un numero se reduce a unir
+ * los fragmentos de la tabla.
+ * </p>
+ * <p>
+ * La traduccion de un grupo depende de su valor, de su magnitud ({@code index}) y de su residuo ({@code module}). Como no es posible
+ * precalcular todos los residuos, estos se clasifican en 3 categorias: residuo igual a cero, residuo distinto de cero pero con el
+ * grupo inmediato inferior en cero, y residuo con el grupo inmediato inferior distinto de cero. La tabla se llena invocando los
+ * metodos {@code unit/ten/hundred/magnitude} del idioma con un residuo representativo de cada categoria, por lo que las
+ * implementaciones que sobreescriben dichos metodos siguen funcionando siempre que su resultado dependa del residuo solamente a
+ * traves de estas categorias.
+ * </p>
+ * <p>
+ * Para reducir la cantidad de objetos, los fragmentos no se almacenan como instancias independientes: el texto de todos los
+ * fragmentos distintos se une, una sola vez por fragmento, en una unica instancia de {@link String} y su version en UTF-8 en un
+ * unico arreglo {@code byte[]}. Un indice de enteros guarda la posicion y la longitud de cada fragmento en ambos, de manera que la
+ * conversion copia rangos directamente al destino.
+ * </p>
+ * <p>
+ * Esta clase es inmutable y <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+final class GroupTable {
+    /**
+     * Cantidad de valores posibles de un grupo: 0 a 999.
+     */
+    static final int GROUP_SIZE = 1000;
+
+    /**
+     * Cantidad de magnitudes soportadas: 10^0, 10^3, 10^6, 10^9, 10^12.
+     */
+    static final int MAGNITUDE_COUNT = 5;
+
+    /**
+     * Cantidad de categorias en las que se clasifica el residuo de un grupo.
+     */
+    static final int MODULE_CATEGORY_COUNT = 3;
+
+    /**
+     * Cantidad de enteros por fragmento en {@link #index}: posicion y longitud en {@link #text}, posicion y longitud en
+     * {@link #bytes}.
+     */
+    private static final int INDEX_STRIDE = 4;
+
+    /**
+     * Texto de todos los fragmentos distintos. Se usa una instancia de {@link String} en lugar de un {@code char[]} porque
+     * {@link StringBuilder#append(CharSequence, int, int)} copia directamente su contenido, sin validar cada caracter.
+     */
+    private final String text;
+
+    /**
+     * Los mismos fragmentos de {@link #text} codificados en UTF-8.
+     */
+    private final byte[] bytes;
+
+    /**
+     * Posicion y longitud de cada fragmento, {@link #INDEX_STRIDE} enteros por fragmento. Los fragmentos de un mismo slot ocupan
+     * {@link #GROUP_SIZE} posiciones consecutivas, ordenadas por el valor del grupo.
+     */
+    private final int[] index;
+
+    /**
+     * Primera posicion en {@link #index} (en fragmentos) de cada slot. Los slots con traducciones identicas comparten las mismas
+     * posiciones.
+     */
+    private final int[] slotOffsets;
+
+    private GroupTable(String text, byte[] bytes, int[] index, int[] slotOffsets) {
+        this.text = text;
+        this.bytes = bytes;
+        this.index = index;
+        this.slotOffsets = slotOffsets;
+    }
+
+    /**
+     * Crea la tabla a partir de su contenido previamente calculado (ver {@link Number2TextDictionary}). El texto se obtiene
+     * decodificando {@code bytes}, ya que ambos contienen los mismos fragmentos en el mismo orden.
+     *
+     * @throws IllegalArgumentException Si las posiciones del indice no son consistentes con el contenido
+     */
+    GroupTable(byte[] bytes, int[] index, int[] slotOffsets) {
+        this(new String(bytes, StandardCharsets.UTF_8), bytes, index, slotOffsets);
+        if (slotOffsets.length != MAGNITUDE_COUNT * MODULE_CATEGORY_COUNT || index.length % (GROUP_SIZE * INDEX_STRIDE) != 0) {
+            throw new IllegalArgumentException("Invalid group table size");
+        }
+        for (int slotOffset : slotOffsets) {
+            if (slotOffset < 0 || slotOffset % GROUP_SIZE != 0 || (slotOffset + GROUP_SIZE) * INDEX_STRIDE > index.length) {
+                throw new IllegalArgumentException("Invalid group table slot [" + slotOffset + "]");
+            }
+        }
+        for (int position = 0; position < index.length; position += INDEX_STRIDE) {
+            if (index[position] < 0 || index[position + 1] < 0 || index[position] + index[position + 1] > text.length() ||
+                    index[position + 2] < 0 || index[position + 3] < 0 || index[position + 2] + index[position + 3] > bytes.length) {
+                throw new IllegalArgumentException("Invalid group table entry [" + position / INDEX_STRIDE + "]");
+            }
+        }
+    }
+
+    /**
+     * Devuelve los fragmentos codificados en UTF-8. El arreglo es compartido y no debe modificarse.
+     */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    /**
+     * Devuelve el indice de los fragmentos. El arreglo es compartido y no debe modificarse.
+     */
+    int[] index() {
+        return index;
+    }
+
+    /**
+     * Devuelve la primera posicion de cada slot en el indice. El arreglo es compartido y no debe modificarse.
+     */
+    int[] slotOffsets() {
+        return slotOffsets;
+    }
+
+    /**
+     * Devuelve la posicion en {@link #index} del fragmento del grupo.
+     */
+    private int position(int value, long module, int index) {
+        return (slotOffsets[slot(module, index)] + value) * INDEX_STRIDE;
+    }
+
+    /**
+     * Devuelve la longitud, en caracteres, del texto del grupo, incluyendo su magnitud.
+     *
+     * @param value El valor del grupo: 0 a 999
+     * @param module El residuo de dividir el numero que se esta procesando entre 10^index
+     * @param index La magnitud o cantidad de ceros a la derecha del grupo. Posibles valores: 0, 3, 6, 9, 12
+     * @return La longitud del texto del grupo
+     */
+    int length(int value, long module, int index) {
+        return this.index[position(value, module, index) + 1];
+    }
+
+    /**
+     * Agrega el texto del grupo, incluyendo su magnitud, al final de {@code output}.
+     */
+    void appendTo(StringBuilder output, int value, long module, int index) {
+        int position = position(value, module, index);
+        int offset = this.index[position];
+        output.append(text, offset, offset + this.index[position + 1]);
+    }
+
+    /**
+     * Escribe el texto del grupo, incluyendo su magnitud, en {@code output}.
+     */
+    void appendTo(Appendable output, int value, long module, int index) throws IOException {
+        int position = position(value, module, index);
+        int offset = this.index[position];
+        output.append(text, offset, offset + this.index[position + 1]);
+    }
+
+    /**
+     * Escribe el texto del grupo, incluyendo su magnitud, codificado en UTF-8 en {@code output}.
+     *
+     * @throws java.nio.BufferOverflowException Si el texto no cabe en el espacio restante de {@code output}
+     */
+    void encodeTo(ByteBuffer output, int value, long module, int index) {
+        int position = position(value, module, index);
+        output.put(bytes, this.index[position + 2], this.index[position + 3]);
+    }
+
+    /**
+     * Calcula la posicion en la tabla para la magnitud y la categoria del residuo del grupo.
+     */
+    static int slot(long module, int index) {
+        int magnitude = index / 3;
+        int category;
+        if (module == 0) {
+            category = 0;
+        } else if (magnitude > 0 && module >= Number2Text.POWERS_OF_TEN[magnitude - 1]) {
+            category = 2;
+        } else {
+            category = 1;
+        }
+        return magnitude * MODULE_CATEGORY_COUNT + category;
+    }
+
+    /**
+     * Devuelve un residuo representativo de la categoria indicada.
+     */
+    private static long representativeModule(int magnitude, int category) {
+        switch (category) {
+            case 0:
+                return 0;
+            case 1:
+                return 1;
+            default:
+                return magnitude > 0 ? Number2Text.POWERS_OF_TEN[magnitude - 1] : 0;
+        }
+    }
+
+    /**
+     * Construye la tabla de traducciones a partir de los metodos de conversion del idioma.
+     *
+     * @param language Instancia del idioma cuyos metodos se usaran para llenar la tabla
+     * @return La tabla de traducciones
+     */
+    static GroupTable of(Number2Text language) {
+        List<String[]> distinct = new ArrayList<>();
+        int[] slotOffsets = new int[MAGNITUDE_COUNT * MODULE_CATEGORY_COUNT];
+
+        for (int magnitude = 0; magnitude < MAGNITUDE_COUNT; magnitude++) {
+            int index = magnitude * 3;
+            for (int category = 0; category < MODULE_CATEGORY_COUNT; category++) {
+                long module = representativeModule(magnitude, category);
+                String[] values = new String[GROUP_SIZE];
+                for (int value = 0; value < GROUP_SIZE; value++) {
+                    values[value] = language.renderGroup(value, module, index);
+                }
+                slotOffsets[magnitude * MODULE_CATEGORY_COUNT + category] = share(distinct, values) * GROUP_SIZE;
+            }
+        }
+
+        // Every distinct fragment is stored once, even when it appears in several slots
+        StringBuilder text = new StringBuilder();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Map<String, Integer> stored = new HashMap<>();
+        int[] index = new int[distinct.size() * GROUP_SIZE * INDEX_STRIDE];
+
+        for (int block = 0; block < distinct.size(); block++) {
+            String[] values = distinct.get(block);
+            for (int value = 0; value < GROUP_SIZE; value++) {
+                String fragment = values[value];
+                int position = (block * GROUP_SIZE + value) * INDEX_STRIDE;
+                Integer previous = stored.get(fragment);
+                if (previous != null) {
+                    System.arraycopy(index, previous, index, position, INDEX_STRIDE);
+                    continue;
+                }
+                byte[] encoded = fragment.getBytes(StandardCharsets.UTF_8);
+                index[position] = text.length();
+                index[position + 1] = fragment.length();
+                index[position + 2] = bytes.size();
+                index[position + 3] = encoded.length;
+                text.append(fragment);
+                bytes.write(encoded, 0, encoded.length);
+                stored.put(fragment, position);
+            }
+        }
+
+        return new GroupTable(text.toString(), bytes.toByteArray(), index, slotOffsets);
+    }
+
+    /**
+     * Devuelve la posicion en {@code distinct} de un arreglo igual a {@code values}, agregandolo si no existe.
+     */
+    private static int share(List<String[]> distinct, String[] values) {
+        for (int i = 0; i < distinct.size(); i++) {
+            if (Arrays.equals(distinct.get(i), values)) {
+                return i;
+            }
+        }
+        distinct.add(values);
+        return distinct.size() - 1;
+    }
+}
@@ -0,0 +1,164 @@
+package ni.org.jug.subtiava.text;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * Lee un archivo de texto, una linea por registro, a traves de un {@link FileChannel} mapeado en memoria. El archivo se divide en
+ * bloques de hasta {@code chunkSize} bytes que terminan en un salto de linea, de manera que cada bloque se puede procesar de forma
+ * independiente (por ejemplo, en otro hilo). Las lineas de cada bloque se recorren con {@link Cursor}.
+ * </p>
+ * <p>
+ * Las lineas terminan en {@code '\n'} o {@code "\r\n"}: el {@code '\n'} final no forma parte de la ultima linea, y el
+ * {@code '\r'} de los archivos con saltos de linea de Windows no forma parte de la linea. A diferencia de
+ * {@link java.io.BufferedReader#readLine()}, un {@code '\r'} aislado no termina la linea, sino que forma parte de ella. Es la unica
+ * implementacion de estas reglas; la usan {@link CedulaBatch}, {@link CedulaJoin} y {@link Number2TextBatch}.
+ * </p>
+ * <p>
+ * Esta clase <strong>NO</strong> es threadsafe; los bloques devueltos si se pueden leer desde otros hilos.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+final class MappedLines {
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final long size;
+    private long position;
+    private long chunkOffset;
+
+    /**
+     * @param channel El archivo de entrada. No se cierra al terminar
+     * @param chunkSize Tamano maximo, en bytes, de un bloque
+     * @throws IOException Si ocurre un error al obtener el tamano del archivo
+     */
+    MappedLines(FileChannel channel, int chunkSize) throws IOException {
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        this.size = channel.size();
+    }
+
+    /**
+     * Mapea el siguiente bloque del archivo. El limite del bloque es la posicion siguiente a su ultimo salto de linea, excepto en
+     * el ultimo bloque, que llega hasta el final del archivo.
+     *
+     * @return El siguiente bloque o {@code null} si ya se leyo todo el archivo
+     * @throws IOException Si ocurre un error al mapear el archivo
+     * @throws IllegalArgumentException Si una linea es mas grande que un bloque
+     */
+    MappedByteBuffer nextChunk() throws IOException {
+        if (position >= size) {
+            return null;
+        }
+
+        long remaining = size - position;
+        MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, remaining));
+        if (remaining > chunkSize) {
+            chunk.limit(lastLineEnd(chunk, position));
+        }
+        chunkOffset = position;
+        position += chunk.limit();
+        return chunk;
+    }
+
+    /**
+     * Posicion dentro del archivo del ultimo bloque devuelto por {@link #nextChunk()}.
+     */
+    long chunkOffset() {
+        return chunkOffset;
+    }
+
+    /**
+     * Devuelve la posicion siguiente al ultimo salto de linea del bloque.
+     */
+    private static int lastLineEnd(ByteBuffer chunk, long offset) {
+        for (int i = chunk.limit() - 1; i >= 0; i--) {
+            if (chunk.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException("The line at byte offset [" + offset + "] is larger than the chunk size");
+    }
+
+    /**
+     * Cuenta las lineas de un bloque, es decir, la cantidad de veces que {@link Cursor#next()} devuelve {@code true}.
+     */
+    static int countLines(ByteBuffer chunk) {
+        int limit = chunk.limit();
+        int lines = 0;
+        for (int i = 0; i < limit; i++) {
+            if (chunk.get(i) == '\n') {
+                lines++;
+            }
+        }
+        if (limit > 0 && chunk.get(limit - 1) != '\n') {
+            lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * Recorre las lineas de un bloque, desde la posicion 0 hasta su limite, sin crear instancias de {@link String}. Esta clase
+     * <strong>NO</strong> es threadsafe.
+     */
+    static final class Cursor {
+        private final ByteBuffer chunk;
+        private final int limit;
+        private int next;
+        private int start;
+        private int length;
+
+        Cursor(ByteBuffer chunk) {
+            this.chunk = chunk;
+            this.limit = chunk.limit();
+        }
+
+        /**
+         * Avanza a la siguiente linea.
+         *
+         * @return {@code true} si existe una linea mas, {@code false} si ya se recorrieron todas
+         */
+        boolean next() {
+            if (next >= limit) {
+                return false;
+            }
+
+            int lineEnd = next;
+            while (lineEnd < limit && chunk.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            start = next;
+            length = lineEnd - next;
+            if (length > 0 && chunk.get(lineEnd - 1) == '\r') {
+                length--;
+            }
+            next = lineEnd + 1;
+            return true;
+        }
+
+        /**
+         * Posicion dentro del bloque del primer byte de la linea actual.
+         */
+        int start() {
+            return start;
+        }
+
+        /**
+         * Longitud en bytes de la linea actual, sin el salto de linea.
+         */
+        int length() {
+            return length;
+        }
+
+        /**
+         * Posicion dentro del bloque siguiente al ultimo byte de la linea actual, sin el salto de linea.
+         */
+        int end() {
+            return start + length;
+        }
+    }
+}
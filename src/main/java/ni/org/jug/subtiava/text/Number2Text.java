@@ -1,9 +1,12 @@
 package ni.org.jug.subtiava.text;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.StringJoiner;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -22,7 +25,7 @@ import java.util.function.BiFunction;
  * <p>
  * Se calcula el 1er grupo, se convierte a texto, se obtiene la magnitud del numero (si es mil, millon, etc), se agrega este resultado
  * parcial a un {@link StringBuilder} y se resta el valor de este grupo del numero original. Se repite el proceso anterior hasta dejar
- * en cero el numero.
+ * en cero el numero. Los grupos se obtienen en una sola pasada, de la magnitud mayor a la menor, usando una tabla de potencias de 10.
  * </p>
  * <p>
  * Por ejemplo: para convertir el numero 4,525 a texto, la clase realiza lo siguiente: se obtiene el 1er grupo (valor = 4).
@@ -33,6 +36,17 @@ import java.util.function.BiFunction;
  * En este caso, solo se necesitaron 2 iteraciones para convertir el numero a texto.
  * </p>
  * <p>
+ * Como un grupo solo puede tomar 1,000 valores distintos, la traduccion de todos los grupos de un idioma se precalcula una sola vez
+ * (ver {@link #useConversionTable()}) y la conversion se limita a unir los fragmentos precalculados. Cuando se especifica una
+ * instancia de {@link NumberConversionCustomizer}, cada grupo se traduce nuevamente para notificar los eventos de conversion.
+ * </p>
+ * <p>
+ * Las instancias de esta clase son adaptadores sobre un convertidor sin estado ({@link Number2TextConverter}). Si el idioma no
+ * tiene estado ({@link #isStateless()}), el convertidor se comparte entre todas las instancias del idioma; en caso contrario, cada
+ * instancia crea su propio convertidor. Para evitar crear una instancia por cada numero, se puede usar directamente el
+ * convertidor compartido: {@code Number2Text.spanish().convert(933)}.
+ * </p>
+ * <p>
  * Esta clase y sus implementaciones son <strong>threadsafe</strong>.
  * </p>
  *
@@ -46,17 +60,24 @@ public abstract class Number2Text {
     public static final long MAX_VALUE = 999_999_999_999_999l;
 
     /**
-     * El valor 100.
+     * Potencias de 10 que corresponden a la magnitud de cada grupo: 10^0, 10^3, 10^6, 10^9, 10^12.
      */
-    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+    static final long[] POWERS_OF_TEN = {1l, 1_000l, 1_000_000l, 1_000_000_000l, 1_000_000_000_000l};
 
     /**
-     * Implementacion sin comportamiento de la interfaz funcional {@link NumberConversionCustomizer}.
+     * Convertidores compartidos por idioma (clase hija) sin estado. Al usar {@link ClassValue}, el convertidor se asocia a la clase
+     * del idioma y no impide que se descargue su {@link ClassLoader}.
      */
-    private static final NumberConversionCustomizer NO_OP_CUSTOMIZER = (eventType, conversionType, event, output) -> {};
+    private static final ClassValue<AtomicReference<Number2TextConverter>> CONVERTERS =
+            new ClassValue<AtomicReference<Number2TextConverter>>() {
+                @Override
+                protected AtomicReference<Number2TextConverter> computeValue(Class<?> type) {
+                    return new AtomicReference<>();
+                }
+            };
 
     /**
-     * Instancia de {@link NumberConversionCustomizer} para personalizar el texto resultante de la conversion.
+     * Instancia de {@link NumberConversionCustomizer} para personalizar el texto resultante de la conversion. Puede ser {@code null}.
      */
     private final NumberConversionCustomizer customizer;
 
@@ -70,6 +91,11 @@ public abstract class Number2Text {
      */
     private final int decimal;
 
+    /**
+     * Convertidor de esta instancia. Se obtiene la primera vez que se convierte el numero.
+     */
+    private Number2TextConverter converter;
+
     /**
      * Crea una nueva instancia a partir de un numero.
      *
@@ -98,15 +124,10 @@ public abstract class Number2Text {
      * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
      */
     protected Number2Text(long number, int decimal, NumberConversionCustomizer customizer) {
-        if (number < 0) {
-            throw new IllegalArgumentException("Number [" + number + "] must be greater than or equal to zero");
-        }
-        if (decimal < -1) {
-            throw new IllegalArgumentException("Decimal fraction [" + decimal + "] must be greater than or equal to zero");
-        }
+        checkArguments(number, decimal);
         this.number = number;
         this.decimal = decimal;
-        this.customizer = customizer == null ? NO_OP_CUSTOMIZER : customizer;
+        this.customizer = customizer;
     }
 
     /**
@@ -125,11 +146,25 @@ public abstract class Number2Text {
      * @param customizer Instancia de {@link NumberConversionCustomizer}
      */
     protected Number2Text(BigDecimal amount, NumberConversionCustomizer customizer) {
-        this(amount.longValue(), amount
-                .setScale(2, RoundingMode.HALF_UP)
-                .remainder(BigDecimal.ONE)
-                .multiply(ONE_HUNDRED)
-                .intValue(), customizer);
+        this(amount, Amounts.split(amount), customizer);
+    }
+
+    private Number2Text(BigDecimal amount, long split, NumberConversionCustomizer customizer) {
+        this(Amounts.integerOf(amount, split), Amounts.decimalOf(amount, split), customizer);
+    }
+
+    /**
+     * Valida el numero y la parte decimal a convertir.
+     *
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    static void checkArguments(long number, int decimal) {
+        if (number < 0) {
+            throw new IllegalArgumentException("Number [" + number + "] must be greater than or equal to zero");
+        }
+        if (decimal < -1) {
+            throw new IllegalArgumentException("Decimal fraction [" + decimal + "] must be greater than or equal to zero");
+        }
     }
 
     public final long getNumber() {
@@ -140,32 +175,161 @@ public abstract class Number2Text {
         return decimal;
     }
 
-    private String resolveNumber(int value, long module, int index) {
-        NumberConversionEvent event = new NumberConversionEvent(value, module, index);
-        StringBuilder output = new StringBuilder();
+    /**
+     * Indica si la conversion usa la tabla de traducciones precalculadas del idioma cuando no se ha especificado una instancia de
+     * {@link NumberConversionCustomizer}. La tabla se llena con los metodos {@code unit/ten/hundred/magnitude}, invocados con un
+     * residuo representativo de cada una de estas categorias: residuo igual a cero, residuo distinto de cero con el grupo inmediato
+     * inferior en cero y residuo con el grupo inmediato inferior distinto de cero. Las implementaciones cuyas traducciones dependan
+     * del residuo de otra forma deben sobreescribir este metodo y devolver {@code false}.
+     *
+     * @return {@code true} para usar la tabla de traducciones, {@code false} para traducir cada grupo en cada conversion
+     */
+    protected boolean useConversionTable() {
+        return true;
+    }
+
+    /**
+     * Indica si las traducciones de esta clase ({@code unit/ten/hundred/magnitude} y {@link #withDecimalFraction(int)}) dependen
+     * unicamente de sus argumentos y no del estado de la instancia. En ese caso, el convertidor y su tabla de traducciones se
+     * crean una sola vez y se comparten entre todas las instancias de la clase; en caso contrario, cada instancia crea su propio
+     * convertidor la primera vez que convierte el numero.
+     *
+     * @return {@code true} si las instancias de esta clase pueden compartir el convertidor
+     */
+    protected boolean isStateless() {
+        return false;
+    }
+
+    /**
+     * Devuelve el convertidor de esta instancia: el convertidor compartido del idioma si no tiene estado o un convertidor propio en
+     * caso contrario.
+     */
+    Number2TextConverter converter() {
+        Number2TextConverter result = converter;
+        if (result == null) {
+            // Racy but idempotent initialization: Number2TextConverter is immutable and every thread gets an equivalent instance
+            result = isStateless() ? converterOf(getClass(), () -> this) : new Number2TextConverter(this);
+            converter = result;
+        }
+        return result;
+    }
+
+    /**
+     * Reemplaza el convertidor compartido del idioma del convertidor. Ver {@link Number2TextDictionary#install(java.nio.file.Path)}.
+     *
+     * @throws IllegalArgumentException Si el idioma tiene estado ({@link #isStateless()})
+     */
+    static void install(Number2TextConverter converter) {
+        Number2Text language = converter.language();
+        if (!language.isStateless()) {
+            throw new IllegalArgumentException("The language [" + language.getClass().getName() + "] is not stateless");
+        }
+        CONVERTERS.get(language.getClass()).set(converter);
+    }
+
+    /**
+     * Devuelve el convertidor compartido de un idioma sin estado, creandolo la primera vez con la instancia devuelta por
+     * {@code language}.
+     *
+     * @param type La clase del idioma
+     * @param language Crea una instancia del idioma cuyos metodos de conversion usara el convertidor
+     * @return El convertidor del idioma
+     */
+    static Number2TextConverter converterOf(Class<? extends Number2Text> type, Supplier<? extends Number2Text> language) {
+        AtomicReference<Number2TextConverter> shared = CONVERTERS.get(type);
+        Number2TextConverter result = shared.get();
+        if (result == null) {
+            Number2TextConverter created = new Number2TextConverter(language.get());
+            result = shared.compareAndSet(null, created) ? created : shared.get();
+        }
+        return result;
+    }
+
+    /**
+     * Devuelve el convertidor compartido (<strong>threadsafe</strong>) para el idioma espanol.
+     *
+     * @return El convertidor para el idioma espanol
+     */
+    public static Number2TextConverter spanish() {
+        return converterOf(SpanishNumber2Text.class, () -> new SpanishNumber2Text(0));
+    }
+
+    /**
+     * Devuelve el convertidor compartido (<strong>threadsafe</strong>) para el idioma ingles.
+     *
+     * @return El convertidor para el idioma ingles
+     */
+    public static Number2TextConverter english() {
+        return converterOf(EnglishNumber2Text.class, () -> new EnglishNumber2Text(0));
+    }
+
+    /**
+     * Traduce un grupo, incluyendo su magnitud, sin notificar los eventos de conversion. Se usa para llenar la tabla de traducciones
+     * y cuando no se ha especificado una instancia de {@link NumberConversionCustomizer}.
+     */
+    String renderGroup(int value, long module, int index) {
+        String group = translateGroup(value, module, index);
+        String magnitude = magnitude(value, module, index);
+        if (magnitude == null) {
+            return group;
+        }
+        return new StringBuilder(group.length() + 1 + magnitude.length()).append(group).append(' ').append(magnitude).toString();
+    }
+
+    /**
+     * Traduce un grupo, incluyendo su magnitud, y agrega el resultado a {@code output}, notificando los eventos de conversion a
+     * {@code customizer}. Si {@code customizer} es una instancia de {@link PrimitiveConversionCustomizer}, no se crea ninguna
+     * instancia de {@link NumberConversionEvent}; en caso contrario se crea una sola instancia por grupo.
+     */
+    void resolveNumber(int value, long module, int index, NumberConversionCustomizer customizer, StringBuilder output) {
+        ConversionType conversionType = conversionType(value);
+
+        if (customizer instanceof PrimitiveConversionCustomizer) {
+            PrimitiveConversionCustomizer primitive = (PrimitiveConversionCustomizer) customizer;
+            primitive.onConversion(EventType.BEFORE, conversionType, value, module, index, output);
+            output.append(translateGroup(value, module, index));
+            primitive.onConversion(EventType.AFTER, conversionType, value, module, index, output);
+
+            primitive.onConversion(EventType.BEFORE, ConversionType.MAGNITUDE, value, module, index, output);
+            appendMagnitude(value, module, index, output);
+            primitive.onConversion(EventType.AFTER, ConversionType.MAGNITUDE, value, module, index, output);
+        } else {
+            NumberConversionEvent event = new NumberConversionEvent(value, module, index);
+            customizer.onConversion(EventType.BEFORE, conversionType, event, output);
+            output.append(translateGroup(value, module, index));
+            customizer.onConversion(EventType.AFTER, conversionType, event, output);
+
+            customizer.onConversion(EventType.BEFORE, ConversionType.MAGNITUDE, event, output);
+            appendMagnitude(value, module, index, output);
+            customizer.onConversion(EventType.AFTER, ConversionType.MAGNITUDE, event, output);
+        }
+    }
+
+    private static ConversionType conversionType(int value) {
+        if (isUnit(value)) {
+            return ConversionType.UNIT;
+        } else if (isTen(value)) {
+            return ConversionType.TEN;
+        } else {
+            return ConversionType.HUNDRED;
+        }
+    }
 
+    private String translateGroup(int value, long module, int index) {
         if (isUnit(value)) {
-            customizer.onConversion(EventType.BEFORE, ConversionType.UNIT, event, output);
-            output.append(unit(value, module, index));
-            customizer.onConversion(EventType.AFTER, ConversionType.UNIT, event, output);
+            return unit(value, module, index);
         } else if (isTen(value)) {
-            customizer.onConversion(EventType.BEFORE, ConversionType.TEN, event, output);
-            output.append(ten(value, module, index));
-            customizer.onConversion(EventType.AFTER, ConversionType.TEN, event, output);
+            return ten(value, module, index);
         } else {
-            customizer.onConversion(EventType.BEFORE, ConversionType.HUNDRED, event, output);
-            output.append(hundred(value, module, index));
-            customizer.onConversion(EventType.AFTER, ConversionType.HUNDRED, event, output);
+            return hundred(value, module, index);
         }
+    }
 
-        customizer.onConversion(EventType.BEFORE, ConversionType.MAGNITUDE, event, output);
+    private void appendMagnitude(int value, long module, int index, StringBuilder output) {
         String magnitude = magnitude(value, module, index);
         if (magnitude != null) {
             output.append(' ').append(magnitude);
         }
-        customizer.onConversion(EventType.AFTER, ConversionType.MAGNITUDE, event, output);
-
-        return output.toString();
     }
 
     /**
@@ -287,6 +451,19 @@ public abstract class Number2Text {
      */
     protected abstract String withDecimalFraction();
 
+    /**
+     * Devuelve la conversion de la parte decimal indicada a texto. Los convertidores ({@link Number2TextConverter}) reciben la parte
+     * decimal en cada conversion, por lo que usan este metodo en lugar de {@link #withDecimalFraction()}. Por defecto devuelve el
+     * resultado de {@link #withDecimalFraction()}; los idiomas que se usan a traves de un convertidor compartido deben
+     * sobreescribir este metodo para traducir el valor indicado.
+     *
+     * @param decimal La parte decimal del numero: 0 a 99
+     * @return La parte decimal en texto
+     */
+    protected String withDecimalFraction(int decimal) {
+        return withDecimalFraction();
+    }
+
     /**
      * Convierte el numero a texto. La conversion a texto se realiza cada vez que se invoca este metodo. Este metodo calcula los
      * grupos que componen el numero original y uno a uno los transforma a texto. Este metodo acepta 2 parametros que permiten
@@ -302,44 +479,90 @@ public abstract class Number2Text {
      *                                  es {@code true}
      */
     public final String toText(BiFunction<String, Integer, CharSequence> formatter, boolean throwExceptionIfMaxExceeded) {
-        StringJoiner letter = new StringJoiner(" ");
-
-        if (number > MAX_VALUE) {
-            if (throwExceptionIfMaxExceeded) {
-                throw new IllegalArgumentException("Number [" + number + "] is greater than the maximum value allowed for conversion");
-            } else {
-                letter.add(Long.toString(number));
-            }
-        } else {
-            long currentNumber = number;
-            long magnitude = -1;
-            long result = -1;
-            long module = -1;
-
-            for (int i = 0; i <= 12; i += 3) {
-                magnitude = (long) Math.pow(10, i); // 10^i -> 10^0 = 1, 10^3 = 1000,...etc
-                result = currentNumber / magnitude;
-                if (result >= 0 && result < 1000) {
-                    module = currentNumber % magnitude;
-                    letter.add(resolveNumber((int) result, module, i));
-
-                    // Reset for next iteration
-                    currentNumber -= result * magnitude;
-                    if (currentNumber == 0) {
-                        break;
-                    }
-                    i = -3;
-                }
-            }
+        String decimalFraction = formatter == null && decimal != -1 ? withDecimalFraction() : null;
+        int length = letterLength() + (decimalFraction == null ? 0 : 1 + decimalFraction.length());
+
+        // The buffer is allocated once with the final length, so it never grows while the text is written
+        StringBuilder output = new StringBuilder(length);
+        try {
+            appendLetter(output, throwExceptionIfMaxExceeded);
+        } catch (IOException ex) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(ex);
         }
-
         if (formatter == null) {
-            if (decimal != -1) {
-                letter.add(withDecimalFraction());
+            if (decimalFraction != null) {
+                output.append(' ').append(decimalFraction);
             }
-            return letter.toString();
-        } else {
-            return formatter.apply(letter.toString(), decimal).toString();
+            return output.toString();
+        }
+        return formatter.apply(output.toString(), decimal).toString();
+    }
+
+    /**
+     * Convierte el numero a texto y escribe el resultado directamente en {@code output}, sin construir resultados intermedios. Si
+     * el numero tiene parte decimal, se agrega al final el resultado de {@link #withDecimalFraction()}.
+     *
+     * @param output Destino del texto
+     * @param throwExceptionIfMaxExceeded Se usa este parametro si y solo si el numero a convertir excede {@link #MAX_VALUE}.
+     *                                    {@code true} para lanzar un error en caso de exceder el maximo o {@code false} para
+     *                                    agregar el numero al resultado final sin realizar conversion
+     * @throws IOException Si ocurre un error al escribir en {@code output}
+     * @throws IllegalArgumentException Si el numero excede {@link #MAX_VALUE} y el parametro {@code throwExceptionIfMaxExceeded}
+     *                                  es {@code true}
+     */
+    public final void appendTo(Appendable output, boolean throwExceptionIfMaxExceeded) throws IOException {
+        Objects.requireNonNull(output, "[output] is required");
+        appendLetter(output, throwExceptionIfMaxExceeded);
+        appendDecimalFraction(output);
+    }
+
+    public final void appendTo(Appendable output) throws IOException {
+        appendTo(output, false);
+    }
+
+    /**
+     * Convierte el numero a texto y agrega el resultado al final de {@code output}. Equivalente a {@link #appendTo(Appendable, boolean)}
+     * pero sin declarar {@link IOException}.
+     *
+     * @param output Destino del texto
+     * @param throwExceptionIfMaxExceeded Ver {@link #appendTo(Appendable, boolean)}
+     * @return La misma instancia de {@code output}
+     */
+    public final StringBuilder appendTo(StringBuilder output, boolean throwExceptionIfMaxExceeded) {
+        try {
+            appendTo((Appendable) output, throwExceptionIfMaxExceeded);
+        } catch (IOException ex) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(ex);
+        }
+        return output;
+    }
+
+    public final StringBuilder appendTo(StringBuilder output) {
+        return appendTo(output, false);
+    }
+
+    /**
+     * Escribe la traduccion de los grupos que componen el numero (sin la parte decimal).
+     */
+    private void appendLetter(Appendable output, boolean throwExceptionIfMaxExceeded) throws IOException {
+        converter().appendLetter(output, number, customizer, throwExceptionIfMaxExceeded, false);
+    }
+
+    /**
+     * Calcula la longitud del texto de los grupos que componen el numero. Si se especifico una instancia de
+     * {@link NumberConversionCustomizer}, el resultado es una estimacion.
+     */
+    private int letterLength() {
+        Number2TextConverter converter = converter();
+        int length = converter.letterLength(number);
+        return customizer == null ? length : length + Number2TextConverter.CUSTOMIZER_ALLOWANCE;
+    }
+
+    private void appendDecimalFraction(Appendable output) throws IOException {
+        if (decimal != -1) {
+            output.append(' ').append(withDecimalFraction());
         }
     }
 
@@ -0,0 +1,316 @@
+package ni.org.jug.subtiava.text;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * <p>
+ * Proceso por lotes que convierte a texto los montos de un archivo y escribe el resultado en un archivo de registros de longitud
+ * fija, por ejemplo, para la impresion de cheques.
+ * </p>
+ * <p>
+ * El archivo de entrada contiene un monto por linea (por ejemplo {@code 1500.75}), con punto como separador decimal. Cada linea
+ * produce un registro de {@code recordLength} bytes en el archivo de salida: el texto del monto codificado en UTF-8, completado
+ * con espacios y terminado en {@code '\n'}. El texto es el mismo que produce {@link Number2TextConverter#convert(BigDecimal)}.
+ * </p>
+ * <p>
+ * La entrada se lee a traves de un {@link FileChannel} mapeado en memoria y se divide en bloques que terminan en un salto de
+ * linea. Los montos se leen directamente de los bytes del bloque, sin crear instancias de {@link String} ni {@link BigDecimal},
+ * y cada bloque se convierte en un hilo de un {@link ForkJoinPool}. Los bloques convertidos se escriben en el mismo orden de la
+ * entrada.
+ * </p>
+ * <p>
+ * Esta clase es inmutable y <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class Number2TextBatch {
+    /**
+     * Longitud por defecto de un registro del archivo de salida, incluyendo el salto de linea.
+     */
+    public static final int DEFAULT_RECORD_LENGTH = 256;
+
+    /**
+     * Tamano maximo, en bytes, de un bloque del archivo de entrada.
+     */
+    static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+
+    private static final String INVALID_AMOUNT = "Invalid amount [%s] at byte offset [%d]";
+
+    /**
+     * Cantidad maxima de digitos en la parte entera que se procesan con aritmetica de {@code long}.
+     */
+    private static final int MAX_INTEGER_DIGITS = 17;
+
+    private final Number2TextConverter converter;
+    private final int recordLength;
+    private final int chunkSize;
+
+    public Number2TextBatch(Number2TextConverter converter) {
+        this(converter, DEFAULT_RECORD_LENGTH);
+    }
+
+    public Number2TextBatch(Number2TextConverter converter, int recordLength) {
+        this(converter, recordLength, DEFAULT_CHUNK_SIZE);
+    }
+
+    Number2TextBatch(Number2TextConverter converter, int recordLength, int chunkSize) {
+        Objects.requireNonNull(converter, "[converter] is required");
+        if (recordLength < 2) {
+            throw new IllegalArgumentException("[recordLength] must be greater than 1");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("[chunkSize] must be greater than 0");
+        }
+        this.converter = converter;
+        this.recordLength = recordLength;
+        this.chunkSize = chunkSize;
+    }
+
+    public int getRecordLength() {
+        return recordLength;
+    }
+
+    /**
+     * Convierte los montos de {@code input} usando el {@link ForkJoinPool#commonPool() pool comun}. Ver
+     * {@link #convert(Path, Path, ForkJoinPool)}.
+     */
+    public Report convert(Path input, Path output) throws IOException {
+        return convert(input, output, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Convierte a texto los montos de {@code input} y escribe los registros en {@code output}. Si el archivo de salida existe, su
+     * contenido se reemplaza. Para limitar el consumo de memoria, solo se convierten simultaneamente dos bloques por cada hilo
+     * del pool.
+     *
+     * @param input Archivo con un monto por linea
+     * @param output Archivo donde se escriben los registros
+     * @param pool El pool de hilos donde se realiza la conversion
+     * @return Resumen del proceso
+     * @throws IOException Si ocurre un error al leer o escribir alguno de los archivos
+     * @throws IllegalArgumentException Si alguna linea no es un monto valido, si el texto de algun monto no cabe en un registro o
+     *                                  si alguna linea es mas grande que un bloque
+     */
+    public Report convert(Path input, Path output, ForkJoinPool pool) throws IOException {
+        Objects.requireNonNull(input, "[input] is required");
+        Objects.requireNonNull(output, "[output] is required");
+        Objects.requireNonNull(pool, "[pool] is required");
+
+        long start = System.nanoTime();
+        long records = 0;
+        Deque<ForkJoinTask<byte[]>> pending = new ArrayDeque<>();
+        int maxPending = Math.max(2, pool.getParallelism() * 2);
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.WRITE)) {
+            MappedLines chunks = new MappedLines(in, chunkSize);
+            MappedByteBuffer next;
+            while ((next = chunks.nextChunk()) != null) {
+                MappedByteBuffer chunk = next;
+                long offset = chunks.chunkOffset();
+                pending.addLast(pool.submit(() -> convertChunk(chunk, offset)));
+
+                if (pending.size() >= maxPending) {
+                    records += write(out, pending.removeFirst());
+                }
+            }
+            while (!pending.isEmpty()) {
+                records += write(out, pending.removeFirst());
+            }
+        } finally {
+            for (ForkJoinTask<byte[]> task : pending) {
+                task.cancel(false);
+            }
+        }
+
+        return new Report(records, System.nanoTime() - start);
+    }
+
+    /**
+     * Espera a que termine la conversion del bloque y escribe sus registros.
+     *
+     * @return La cantidad de registros escritos
+     */
+    private long write(FileChannel out, ForkJoinTask<byte[]> task) throws IOException {
+        byte[] records;
+        try {
+            records = task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the conversion of a chunk");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(records);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        return records.length / recordLength;
+    }
+
+    /**
+     * Convierte todas las lineas del bloque.
+     *
+     * @param chunk Bloque del archivo de entrada
+     * @param offset Posicion del bloque dentro del archivo de entrada (solo se usa en los mensajes de error)
+     * @return Los registros del bloque
+     */
+    byte[] convertChunk(ByteBuffer chunk, long offset) {
+        byte[] records = new byte[MappedLines.countLines(chunk) * recordLength];
+        Arrays.fill(records, (byte) ' ');
+        ByteBuffer output = ByteBuffer.wrap(records);
+
+        MappedLines.Cursor lines = new MappedLines.Cursor(chunk);
+        for (int recordStart = 0; lines.next(); recordStart += recordLength) {
+            output.limit(recordStart + recordLength - 1).position(recordStart);
+            try {
+                convertLine(chunk, lines.start(), lines.end(), output, offset);
+            } catch (BufferOverflowException ex) {
+                throw new IllegalArgumentException("The text of the amount at byte offset [" + (offset + lines.start()) +
+                        "] does not fit in a record of " + recordLength + " bytes");
+            }
+            records[recordStart + recordLength - 1] = '\n';
+        }
+
+        return records;
+    }
+
+    /**
+     * Lee el monto contenido entre {@code from} y {@code to} y escribe su texto en {@code output}. Se ignoran los espacios al
+     * inicio y al final de la linea. La parte decimal se redondea a 2 digitos usando {@link java.math.RoundingMode#HALF_UP}, igual
+     * que {@link Number2Text}.
+     */
+    private void convertLine(ByteBuffer chunk, int from, int to, ByteBuffer output, long offset) {
+        while (from < to && isBlank(chunk.get(from))) {
+            from++;
+        }
+        while (to > from && isBlank(chunk.get(to - 1))) {
+            to--;
+        }
+
+        long integer = 0;
+        int integerDigits = 0;
+        int cents = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        boolean point = false;
+
+        for (int i = from; i < to; i++) {
+            byte current = chunk.get(i);
+            if (current >= '0' && current <= '9') {
+                int digit = current - '0';
+                if (!point) {
+                    if (integerDigits == MAX_INTEGER_DIGITS) {
+                        output.put(encodeSlowly(chunk, from, to, offset));
+                        return;
+                    }
+                    integer = integer * 10 + digit;
+                    integerDigits++;
+                } else {
+                    if (fractionDigits < 2) {
+                        cents = cents * 10 + digit;
+                    } else if (fractionDigits == 2) {
+                        roundUp = digit >= 5;
+                    }
+                    fractionDigits++;
+                }
+            } else if (current == '.' && !point) {
+                point = true;
+            } else {
+                throw new IllegalArgumentException(String.format(INVALID_AMOUNT, text(chunk, from, to), offset + from));
+            }
+        }
+        if (integerDigits + fractionDigits == 0) {
+            throw new IllegalArgumentException(String.format(INVALID_AMOUNT, text(chunk, from, to), offset + from));
+        }
+
+        if (fractionDigits == 1) {
+            cents *= 10;
+        }
+        if (roundUp) {
+            cents++;
+        }
+        converter.encode(integer, cents % 100, output);
+    }
+
+    /**
+     * Convierte los montos cuya parte entera no cabe en un {@code long} a traves de {@link BigDecimal}.
+     */
+    private byte[] encodeSlowly(ByteBuffer chunk, int from, int to, long offset) {
+        String amount = text(chunk, from, to);
+        try {
+            return converter.convert(new BigDecimal(amount)).getBytes(StandardCharsets.UTF_8);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(String.format(INVALID_AMOUNT, amount, offset + from));
+        }
+    }
+
+    private static boolean isBlank(byte value) {
+        return value == ' ' || value == '\t';
+    }
+
+    private static String text(ByteBuffer chunk, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = chunk.get(from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Resumen de la ejecucion de un proceso por lotes.
+     */
+    public static final class Report {
+        private final long recordCount;
+        private final long elapsedNanos;
+
+        Report(long recordCount, long elapsedNanos) {
+            this.recordCount = recordCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0 : recordCount * 1_000_000_000d / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d records converted in %.3f s (%.0f records/s)", recordCount, elapsedNanos / 1e9,
+                    getRecordsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package ni.org.jug.subtiava.text;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Cache de capacidad limitada para el texto de los numeros que se convierten con frecuencia (salarios, tarifas fijas, montos
+ * redondos). Cada entrada se identifica por el idioma ({@link Number2TextConverter}), el numero y la parte decimal.
+ * </p>
+ * <p>
+ * La cache esta organizada en conjuntos de {@link #WAYS} entradas. Un numero solo puede almacenarse en el conjunto que le corresponde
+ * segun su {@code hash}; cuando el conjunto esta lleno, se reemplaza una entrada que no haya sido leida desde la ultima vez que se
+ * reviso el conjunto (algoritmo {@code CLOCK}). Las lecturas y escrituras no usan bloqueos: cada posicion se actualiza de forma
+ * atomica, por lo que muchos hilos pueden consultar la cache al mismo tiempo.
+ * </p>
+ * <p>
+ * Las conversiones con una instancia de {@link NumberConversionCustomizer} que no sea {@link NumberConversionCustomizer#isCacheable()
+ * cacheable} no pasan por la cache.
+ * </p>
+ * <p>
+ * Esta clase es <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class Number2TextCache {
+    /**
+     * Cantidad de entradas por conjunto.
+     */
+    static final int WAYS = 4;
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final int ways;
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Crea una cache que almacena a lo sumo {@code maximumSize} entradas. La capacidad real es la mayor potencia de 2 (multiplicada
+     * por {@link #WAYS}) que no excede {@code maximumSize}.
+     *
+     * @param maximumSize Cantidad maxima de entradas
+     * @throws IllegalArgumentException Si {@code maximumSize} es menor que 1
+     */
+    public Number2TextCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size [" + maximumSize + "] must be greater than zero");
+        }
+        this.ways = Math.min(WAYS, maximumSize);
+        int sets = Integer.highestOneBit(maximumSize / ways);
+        this.setMask = sets - 1;
+        this.entries = new AtomicReferenceArray<>(sets * ways);
+    }
+
+    /**
+     * Devuelve el texto del numero, consultando primero la cache.
+     *
+     * @param converter El convertidor del idioma
+     * @param number El numero a convertir
+     * @return El numero en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    public String convert(Number2TextConverter converter, long number) {
+        return convert(converter, number, -1, null);
+    }
+
+    /**
+     * Devuelve el texto del numero y su parte decimal, consultando primero la cache.
+     *
+     * @param converter El convertidor del idioma
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @return El numero en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public String convert(Number2TextConverter converter, long number, int decimal) {
+        return convert(converter, number, decimal, null);
+    }
+
+    /**
+     * Devuelve el texto de un numero de tipo {@link BigDecimal}, consultando primero la cache.
+     *
+     * @param converter El convertidor del idioma
+     * @param amount El numero a convertir
+     * @return El numero en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    public String convert(Number2TextConverter converter, BigDecimal amount) {
+        Objects.requireNonNull(amount, "[amount] is required");
+        long split = Amounts.split(amount);
+        return convert(converter, Amounts.integerOf(amount, split), Amounts.decimalOf(amount, split), null);
+    }
+
+    /**
+     * Devuelve el texto del numero y su parte decimal, consultando primero la cache. Si {@code customizer} no es
+     * {@link NumberConversionCustomizer#isCacheable() cacheable}, la conversion se realiza sin consultar ni modificar la cache.
+     *
+     * @param converter El convertidor del idioma
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @param customizer Instancia de {@link NumberConversionCustomizer}. Puede ser {@code null}
+     * @return El numero en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public String convert(Number2TextConverter converter, long number, int decimal, NumberConversionCustomizer customizer) {
+        Objects.requireNonNull(converter, "[converter] is required");
+        if (customizer != null && !customizer.isCacheable()) {
+            return converter.convert(number, decimal, customizer);
+        }
+
+        int first = (hash(converter, number, decimal) & setMask) * ways;
+        for (int i = first; i < first + ways; i++) {
+            Entry entry = entries.get(i);
+            if (entry != null && entry.matches(converter, number, decimal, customizer)) {
+                entry.referenced = true;
+                hits.increment();
+                return entry.text;
+            }
+        }
+
+        misses.increment();
+        String text = converter.convert(number, decimal, customizer);
+        Entry entry = new Entry(converter, number, decimal, customizer, text);
+        entries.set(victim(first), entry);
+        return text;
+    }
+
+    /**
+     * Selecciona la posicion a reemplazar dentro del conjunto: la primera posicion libre o la primera entrada que no haya sido
+     * leida recientemente. Las entradas revisadas pierden su marca de lectura.
+     */
+    private int victim(int first) {
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = first; i < first + ways; i++) {
+                Entry entry = entries.get(i);
+                if (entry == null || !entry.referenced) {
+                    return i;
+                }
+                entry.referenced = false;
+            }
+        }
+        return first;
+    }
+
+    private static int hash(Number2TextConverter converter, long number, int decimal) {
+        long hash = number * 31 + decimal;
+        hash ^= (long) System.identityHashCode(converter) << 32;
+        // Finalization step of MurmurHash3
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+
+    /**
+     * Cantidad de conversiones resueltas con la cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Cantidad de conversiones que no se encontraron en la cache. No incluye las conversiones que no pasan por la cache.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Cantidad maxima de entradas que puede almacenar la cache.
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    /**
+     * Elimina todas las entradas de la cache. Los contadores no se reinician.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+    private static final class Entry {
+        final Number2TextConverter converter;
+        final long number;
+        final int decimal;
+        final NumberConversionCustomizer customizer;
+        final String text;
+
+        /**
+         * Marca de lectura usada para seleccionar la entrada a reemplazar. Se actualiza sin sincronizacion: una actualizacion
+         * perdida solo afecta la eleccion de la entrada a reemplazar.
+         */
+        boolean referenced;
+
+        Entry(Number2TextConverter converter, long number, int decimal, NumberConversionCustomizer customizer, String text) {
+            this.converter = converter;
+            this.number = number;
+            this.decimal = decimal;
+            this.customizer = customizer;
+            this.text = text;
+        }
+
+        boolean matches(Number2TextConverter converter, long number, int decimal, NumberConversionCustomizer customizer) {
+            return this.number == number && this.decimal == decimal && this.converter == converter && this.customizer == customizer;
+        }
+    }
+}
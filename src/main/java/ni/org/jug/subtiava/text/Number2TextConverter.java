@@ -0,0 +1,600 @@
+package ni.org.jug.subtiava.text;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * <p>
+ * Convertidor de numeros a texto sin estado. A diferencia de {@link Number2Text}, el numero, la parte decimal y la instancia de
+ * {@link NumberConversionCustomizer} se reciben en cada invocacion, por lo que una misma instancia puede crearse una sola vez y
+ * compartirse entre varios hilos. Las instancias se obtienen a traves de {@link Number2Text#spanish()} y
+ * {@link Number2Text#english()}.
+ * </p>
+ * <p>
+ * Las traducciones se obtienen de los metodos de conversion de una instancia del idioma ({@link Number2Text}), la cual solo se usa
+ * para llenar la tabla de traducciones y para traducir los grupos cuando se especifica una instancia de
+ * {@link NumberConversionCustomizer}.
+ * </p>
+ * <p>
+ * Esta clase es inmutable y <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class Number2TextConverter {
+    /**
+     * Instancia del idioma cuyos metodos de conversion se usan para traducir los grupos.
+     */
+    private final Number2Text language;
+
+    /**
+     * Tabla de traducciones precalculadas. Es {@code null} si el idioma no usa tabla de traducciones.
+     */
+    private final GroupTable table;
+
+    /**
+     * Texto completo, codificado en UTF-8, de los numeros menores que {@link RenderedNumbers#count()}, cargado de un diccionario
+     * (ver {@link Number2TextDictionary}). Solo lo usa {@link #encode(long, int, NumberConversionCustomizer, ByteBuffer)}; el texto
+     * se obtiene de la tabla, que se copia en bloque. Es {@code null} si el convertidor no se creo a partir de un diccionario que lo
+     * incluya.
+     */
+    private final RenderedNumbers rendered;
+
+    /**
+     * Cantidad de caracteres que se reservan, ademas de la longitud exacta del texto, cuando se especifica una instancia de
+     * {@link NumberConversionCustomizer}. Ver {@link #estimateLength(long, int, NumberConversionCustomizer)}.
+     */
+    static final int CUSTOMIZER_ALLOWANCE = 32;
+
+    /**
+     * Texto de las partes decimales 0 a 99, precedido por un espacio. Se calcula la primera vez que se usa.
+     */
+    private volatile String[] decimalFractions;
+
+    /**
+     * Texto de las partes decimales 0 a 99 (precedido por un espacio) codificado en UTF-8. Se calcula la primera vez que se usa.
+     */
+    private volatile byte[][] encodedDecimalFractions;
+
+    Number2TextConverter(Number2Text language) {
+        this(language, language.useConversionTable() ? GroupTable.of(language) : null, null);
+    }
+
+    Number2TextConverter(Number2Text language, GroupTable table, RenderedNumbers rendered) {
+        this.language = language;
+        this.table = table;
+        this.rendered = rendered;
+    }
+
+    /**
+     * Devuelve la instancia del idioma cuyos metodos de conversion usa este convertidor.
+     */
+    Number2Text language() {
+        return language;
+    }
+
+    /**
+     * Devuelve la tabla de traducciones. Es {@code null} si el idioma no usa tabla de traducciones.
+     */
+    GroupTable table() {
+        return table;
+    }
+
+    /**
+     * Convierte el numero a texto.
+     *
+     * @param number El numero a convertir
+     * @return El numero en texto o el numero original si excede {@link Number2Text#MAX_VALUE}
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    public String convert(long number) {
+        return convert(number, -1, null);
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto.
+     *
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @return El numero en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public String convert(long number, int decimal) {
+        return convert(number, decimal, null);
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto, notificando los eventos de conversion a {@code customizer}.
+     *
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @param customizer Instancia de {@link NumberConversionCustomizer}. Puede ser {@code null}
+     * @return El numero en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public String convert(long number, int decimal, NumberConversionCustomizer customizer) {
+        StringBuilder output = new StringBuilder(estimateLength(number, decimal, customizer));
+        return appendTo(output, number, decimal, customizer).toString();
+    }
+
+    /**
+     * Convierte un numero de tipo {@link BigDecimal} a texto. La parte decimal se redondea a 2 digitos.
+     *
+     * @param amount El numero a convertir
+     * @return El numero en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    public String convert(BigDecimal amount) {
+        return convert(amount, null);
+    }
+
+    /**
+     * Convierte un numero de tipo {@link BigDecimal} a texto, notificando los eventos de conversion a {@code customizer}.
+     *
+     * @param amount El numero a convertir
+     * @param customizer Instancia de {@link NumberConversionCustomizer}. Puede ser {@code null}
+     * @return El numero en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    public String convert(BigDecimal amount, NumberConversionCustomizer customizer) {
+        Objects.requireNonNull(amount, "[amount] is required");
+        long split = Amounts.split(amount);
+        return convert(Amounts.integerOf(amount, split), Amounts.decimalOf(amount, split), customizer);
+    }
+
+    /**
+     * Calcula la longitud exacta del texto del numero, sin construirlo. Ver {@link #length(long, int)}.
+     */
+    public int length(long number) {
+        return length(number, -1);
+    }
+
+    /**
+     * Calcula la longitud exacta, en caracteres, del texto que produce {@link #convert(long, int)}, sin construirlo. La longitud
+     * se obtiene sumando la longitud de los fragmentos de la tabla de traducciones, por lo que su costo es similar al de recorrer
+     * los grupos del numero.
+     *
+     * @param number El numero
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @return La longitud del texto
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public int length(long number, int decimal) {
+        Number2Text.checkArguments(number, decimal);
+        int length = letterLength(number);
+        if (decimal != -1) {
+            length += decimalFraction(decimal).length();
+        }
+        return length;
+    }
+
+    /**
+     * Calcula la longitud exacta del texto que produce {@link #convert(BigDecimal)}, sin construirlo.
+     *
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    public int length(BigDecimal amount) {
+        Objects.requireNonNull(amount, "[amount] is required");
+        long split = Amounts.split(amount);
+        return length(Amounts.integerOf(amount, split), Amounts.decimalOf(amount, split));
+    }
+
+    /**
+     * Estima la longitud del texto que produce {@link #convert(long, int, NumberConversionCustomizer)}. Si no se especifica una
+     * instancia de {@link NumberConversionCustomizer}, la longitud es exacta; en caso contrario, se agrega un margen para el texto
+     * adicional que pueda agregar {@code customizer}. Se usa para reservar de una sola vez el espacio del resultado.
+     *
+     * @param number El numero
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @param customizer Instancia de {@link NumberConversionCustomizer}. Puede ser {@code null}
+     * @return La longitud estimada del texto
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public int estimateLength(long number, int decimal, NumberConversionCustomizer customizer) {
+        int length = length(number, decimal);
+        return customizer == null ? length : length + CUSTOMIZER_ALLOWANCE;
+    }
+
+    /**
+     * Calcula la longitud de la traduccion de los grupos que componen el numero (sin la parte decimal).
+     */
+    int letterLength(long number) {
+        if (number > Number2Text.MAX_VALUE) {
+            return Long.toString(number).length();
+        }
+
+        GroupIterator groups = new GroupIterator(number);
+        int length = -1; // the first group is not preceded by a space
+        while (groups.next()) {
+            length += 1 + groupLength(groups.value(), groups.module(), groups.index());
+        }
+        return length;
+    }
+
+    /**
+     * Convierte cada uno de los numeros a texto.
+     *
+     * @param numbers Los numeros a convertir
+     * @return Arreglo con el texto de cada numero, en el mismo orden de {@code numbers}
+     * @throws IllegalArgumentException Si algun numero es menor que cero
+     */
+    public String[] convert(long[] numbers) {
+        Objects.requireNonNull(numbers, "[numbers] is required");
+        String[] output = new String[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            output[i] = convert(numbers[i]);
+        }
+        return output;
+    }
+
+    /**
+     * Convierte cada uno de los numeros de tipo {@link BigDecimal} a texto.
+     *
+     * @param amounts Los numeros a convertir
+     * @return Arreglo con el texto de cada numero, en el mismo orden de {@code amounts}
+     * @throws IllegalArgumentException Si algun numero es menor que cero
+     */
+    public String[] convert(BigDecimal[] amounts) {
+        Objects.requireNonNull(amounts, "[amounts] is required");
+        String[] output = new String[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            output[i] = convert(amounts[i]);
+        }
+        return output;
+    }
+
+    /**
+     * Convierte cada uno de los numeros del {@code stream} a texto. Si el {@code stream} es paralelo, la conversion se realiza en
+     * paralelo conservando el orden de encuentro.
+     *
+     * @param numbers Los numeros a convertir
+     * @return Arreglo con el texto de cada numero, en el orden de encuentro de {@code numbers}
+     * @throws IllegalArgumentException Si algun numero es menor que cero
+     */
+    public String[] convert(LongStream numbers) {
+        Objects.requireNonNull(numbers, "[numbers] is required");
+        return numbers.mapToObj(this::convert).toArray(String[]::new);
+    }
+
+    /**
+     * Convierte cada uno de los numeros a texto y entrega el resultado a {@code sink}, en el mismo orden de {@code numbers}.
+     *
+     * @param numbers Los numeros a convertir
+     * @param sink Recibe el texto de cada numero
+     * @throws IllegalArgumentException Si algun numero es menor que cero
+     */
+    public void convert(long[] numbers, Consumer<? super String> sink) {
+        Objects.requireNonNull(numbers, "[numbers] is required");
+        Objects.requireNonNull(sink, "[sink] is required");
+        for (long number : numbers) {
+            sink.accept(convert(number));
+        }
+    }
+
+    /**
+     * Convierte a texto cada uno de los numeros del rango, en orden ascendente, y entrega el resultado a {@code sink}. La conversion
+     * es incremental: el texto de los grupos de mayor magnitud se reutiliza mientras no cambien. Ver {@link Number2TextSequence}.
+     *
+     * @param fromInclusive El primer numero del rango
+     * @param toExclusive El numero siguiente al ultimo numero del rango
+     * @param sink Recibe el texto de cada numero
+     * @throws IllegalArgumentException Si {@code fromInclusive} es menor que cero
+     */
+    public void convertRange(long fromInclusive, long toExclusive, Consumer<? super String> sink) {
+        Objects.requireNonNull(sink, "[sink] is required");
+        Number2TextSequence sequence = sequence();
+        for (long number = fromInclusive; number < toExclusive; number++) {
+            sink.accept(sequence.convert(number));
+        }
+    }
+
+    /**
+     * Crea un convertidor incremental para series de numeros consecutivos o cercanos. La instancia devuelta no es threadsafe.
+     *
+     * @return Una nueva instancia de {@link Number2TextSequence}
+     */
+    public Number2TextSequence sequence() {
+        return new Number2TextSequence(this);
+    }
+
+    /**
+     * Convierte cada uno de los numeros a texto usando el {@link ForkJoinPool#commonPool() pool comun}. Ver
+     * {@link #convertParallel(long[], ForkJoinPool)}.
+     */
+    public String[] convertParallel(long[] numbers) {
+        return convertParallel(numbers, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Convierte cada uno de los numeros a texto en paralelo. El arreglo se divide en bloques que se convierten en los hilos de
+     * {@code pool}; cada resultado se escribe en la misma posicion que ocupa su numero, por lo que se conserva el orden.
+     *
+     * @param numbers Los numeros a convertir
+     * @param pool El pool de hilos donde se realiza la conversion
+     * @return Arreglo con el texto de cada numero, en el mismo orden de {@code numbers}
+     * @throws IllegalArgumentException Si algun numero es menor que cero
+     */
+    public String[] convertParallel(long[] numbers, ForkJoinPool pool) {
+        Objects.requireNonNull(numbers, "[numbers] is required");
+        Objects.requireNonNull(pool, "[pool] is required");
+        String[] output = new String[numbers.length];
+        pool.invoke(new BulkConversionTask(output, 0, numbers.length, i -> convert(numbers[i])));
+        return output;
+    }
+
+    /**
+     * Convierte cada uno de los numeros de tipo {@link BigDecimal} a texto usando el {@link ForkJoinPool#commonPool() pool comun}.
+     * Ver {@link #convertParallel(BigDecimal[], ForkJoinPool)}.
+     */
+    public String[] convertParallel(BigDecimal[] amounts) {
+        return convertParallel(amounts, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Convierte cada uno de los numeros de tipo {@link BigDecimal} a texto en paralelo, conservando el orden.
+     *
+     * @param amounts Los numeros a convertir
+     * @param pool El pool de hilos donde se realiza la conversion
+     * @return Arreglo con el texto de cada numero, en el mismo orden de {@code amounts}
+     * @throws IllegalArgumentException Si algun numero es menor que cero
+     */
+    public String[] convertParallel(BigDecimal[] amounts, ForkJoinPool pool) {
+        Objects.requireNonNull(amounts, "[amounts] is required");
+        Objects.requireNonNull(pool, "[pool] is required");
+        String[] output = new String[amounts.length];
+        pool.invoke(new BulkConversionTask(output, 0, amounts.length, i -> convert(amounts[i])));
+        return output;
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto y agrega el resultado al final de {@code output}.
+     *
+     * @param output Destino del texto
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @param customizer Instancia de {@link NumberConversionCustomizer}. Puede ser {@code null}
+     * @return La misma instancia de {@code output}
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public StringBuilder appendTo(StringBuilder output, long number, int decimal, NumberConversionCustomizer customizer) {
+        try {
+            appendTo((Appendable) output, number, decimal, customizer);
+        } catch (IOException ex) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(ex);
+        }
+        return output;
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto y escribe el resultado directamente en {@code output}.
+     *
+     * @param output Destino del texto
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @param customizer Instancia de {@link NumberConversionCustomizer}. Puede ser {@code null}
+     * @throws IOException Si ocurre un error al escribir en {@code output}
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public void appendTo(Appendable output, long number, int decimal, NumberConversionCustomizer customizer) throws IOException {
+        Objects.requireNonNull(output, "[output] is required");
+        Number2Text.checkArguments(number, decimal);
+        appendLetter(output, number, customizer, false, false);
+        if (decimal != -1) {
+            output.append(decimalFraction(decimal));
+        }
+    }
+
+    /**
+     * Agrega el texto del numero, sin la parte decimal, al final de {@code output}, en la forma que se usa cuando le sigue un
+     * sustantivo (por ejemplo, el nombre de la moneda): el ultimo grupo se traduce en su forma corta, {@code "un"} en lugar de
+     * {@code "uno"} en espanol.
+     *
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    StringBuilder appendBeforeNoun(StringBuilder output, long number) {
+        Number2Text.checkArguments(number, -1);
+        try {
+            appendLetter(output, number, null, false, true);
+        } catch (IOException ex) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(ex);
+        }
+        return output;
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto y escribe el resultado codificado en UTF-8 directamente en {@code output},
+     * a partir de su posicion actual. Ver {@link #encode(long, int, NumberConversionCustomizer, ByteBuffer)}.
+     */
+    public int encode(long number, int decimal, ByteBuffer output) {
+        return encode(number, decimal, null, output);
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto y escribe el resultado codificado en UTF-8 en {@code output}, a partir de la
+     * posicion {@code offset}. Ver {@link #encode(long, int, NumberConversionCustomizer, ByteBuffer)}.
+     *
+     * @return La cantidad de bytes escritos
+     */
+    public int encode(long number, int decimal, byte[] output, int offset) {
+        Objects.requireNonNull(output, "[output] is required");
+        return encode(number, decimal, null, ByteBuffer.wrap(output, offset, output.length - offset));
+    }
+
+    /**
+     * Convierte un numero de tipo {@link BigDecimal} a texto y escribe el resultado codificado en UTF-8 directamente en
+     * {@code output}, a partir de su posicion actual.
+     *
+     * @return La cantidad de bytes escritos
+     */
+    public int encode(BigDecimal amount, ByteBuffer output) {
+        Objects.requireNonNull(amount, "[amount] is required");
+        long split = Amounts.split(amount);
+        return encode(Amounts.integerOf(amount, split), Amounts.decimalOf(amount, split), null, output);
+    }
+
+    /**
+     * Convierte un numero de tipo {@link BigDecimal} a texto y escribe el resultado codificado en UTF-8 en {@code output}, a partir
+     * de la posicion {@code offset}.
+     *
+     * @return La cantidad de bytes escritos
+     */
+    public int encode(BigDecimal amount, byte[] output, int offset) {
+        Objects.requireNonNull(output, "[output] is required");
+        return encode(amount, ByteBuffer.wrap(output, offset, output.length - offset));
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto y escribe el resultado codificado en UTF-8 directamente en {@code output}, a
+     * partir de su posicion actual. Cuando no se especifica una instancia de {@link NumberConversionCustomizer}, se copian los
+     * fragmentos de la tabla de traducciones previamente codificados, sin crear instancias de {@link String} ni codificar texto.
+     * En cualquier otro caso, el texto se construye con {@link #appendTo(StringBuilder, long, int, NumberConversionCustomizer)} y
+     * luego se codifica.
+     * La posicion de {@code output} avanza la cantidad de bytes escritos.
+     *
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @param customizer Instancia de {@link NumberConversionCustomizer}. Puede ser {@code null}
+     * @param output Destino del texto
+     * @return La cantidad de bytes escritos
+     * @throws BufferOverflowException Si el texto no cabe en el espacio restante de {@code output}. En este caso, el contenido de
+     *                                 {@code output} a partir de su posicion original queda indefinido
+     * @throws IllegalArgumentException Si el numero es menor que cero, la parte decimal es menor que -1 o el diccionario del que se
+     *                                  cargo el convertidor esta corrupto
+     */
+    public int encode(long number, int decimal, NumberConversionCustomizer customizer, ByteBuffer output) {
+        Objects.requireNonNull(output, "[output] is required");
+        Number2Text.checkArguments(number, decimal);
+        int start = output.position();
+
+        if (customizer != null || table == null || number > Number2Text.MAX_VALUE) {
+            StringBuilder letter = new StringBuilder();
+            appendTo(letter, number, -1, customizer);
+            output.put(letter.toString().getBytes(StandardCharsets.UTF_8));
+        } else if (rendered != null && rendered.contains(number)) {
+            rendered.encodeTo(output, (int) number);
+        } else {
+            GroupIterator groups = new GroupIterator(number);
+            while (groups.next()) {
+                if (!groups.isFirst()) {
+                    output.put((byte) ' ');
+                }
+                table.encodeTo(output, groups.value(), groups.module(), groups.index());
+            }
+        }
+
+        if (decimal != -1) {
+            output.put(encodedDecimalFraction(decimal));
+        }
+        return output.position() - start;
+    }
+
+    /**
+     * Devuelve la longitud del texto del grupo, incluyendo su magnitud.
+     */
+    private int groupLength(int value, long module, int index) {
+        return table != null ? table.length(value, module, index) : language.renderGroup(value, module, index).length();
+    }
+
+    /**
+     * Agrega el texto del grupo, incluyendo su magnitud, al final de {@code output}, sin notificar los eventos de conversion.
+     */
+    void appendGroup(StringBuilder output, int value, long module, int index) {
+        if (table != null) {
+            table.appendTo(output, value, module, index);
+        } else {
+            output.append(language.renderGroup(value, module, index));
+        }
+    }
+
+    /**
+     * Devuelve el texto de la parte decimal, precedido por un espacio.
+     */
+    String decimalFraction(int decimal) {
+        if (decimal >= 100) {
+            return ' ' + language.withDecimalFraction(decimal);
+        }
+        String[] fractions = decimalFractions;
+        if (fractions == null) {
+            // Racy but idempotent initialization: every thread computes the same values
+            fractions = new String[100];
+            for (int i = 0; i < fractions.length; i++) {
+                fractions[i] = ' ' + language.withDecimalFraction(i);
+            }
+            decimalFractions = fractions;
+        }
+        return fractions[decimal];
+    }
+
+    /**
+     * Devuelve el texto de la parte decimal, precedido por un espacio, codificado en UTF-8.
+     */
+    private byte[] encodedDecimalFraction(int decimal) {
+        if (decimal >= 100) {
+            return decimalFraction(decimal).getBytes(StandardCharsets.UTF_8);
+        }
+        byte[][] fractions = encodedDecimalFractions;
+        if (fractions == null) {
+            // Racy but idempotent initialization: every thread computes the same values
+            fractions = new byte[100][];
+            for (int i = 0; i < fractions.length; i++) {
+                fractions[i] = decimalFraction(i).getBytes(StandardCharsets.UTF_8);
+            }
+            encodedDecimalFractions = fractions;
+        }
+        return fractions[decimal];
+    }
+
+    /**
+     * Escribe la traduccion de los grupos que componen el numero (sin la parte decimal). Si {@code beforeNoun} es {@code true}, el
+     * ultimo grupo se traduce en la forma corta de la tabla (la de residuo distinto de cero), porque le sigue un sustantivo.
+     */
+    void appendLetter(Appendable output, long number, NumberConversionCustomizer customizer, boolean throwExceptionIfMaxExceeded,
+            boolean beforeNoun) throws IOException {
+        if (number > Number2Text.MAX_VALUE) {
+            if (throwExceptionIfMaxExceeded) {
+                throw new IllegalArgumentException("Number [" + number + "] is greater than the maximum value allowed for conversion");
+            } else {
+                output.append(Long.toString(number));
+            }
+            return;
+        }
+
+        GroupTable table = customizer == null ? this.table : null;
+        GroupIterator groups = new GroupIterator(number);
+        StringBuilder group = null; // reused by every group when the customizer is notified
+
+        while (groups.next()) {
+            int value = groups.value();
+            int index = groups.index();
+            // The last group is rendered as if it had a remainder, which gives the short form used before a noun
+            long module = beforeNoun && index == 0 && value > 0 ? 1 : groups.module();
+            if (!groups.isFirst()) {
+                output.append(' ');
+            }
+            if (table != null) {
+                table.appendTo(output, value, module, index);
+            } else if (customizer == null) {
+                output.append(language.renderGroup(value, module, index));
+            } else {
+                if (group == null) {
+                    group = new StringBuilder(64);
+                } else {
+                    group.setLength(0);
+                }
+                language.resolveNumber(value, module, index, customizer, group);
+                output.append(group);
+            }
+        }
+    }
+}
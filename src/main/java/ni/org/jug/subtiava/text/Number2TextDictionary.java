@@ -0,0 +1,241 @@
+package ni.org.jug.subtiava.text;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Diccionario persistente de un idioma: la tabla de traducciones de los grupos (ver {@link GroupTable}) y, opcionalmente, el texto
+ * completo de los numeros 0 a {@code numbers - 1}, calculados una sola vez y guardados en un archivo binario. Al cargar el
+ * diccionario no se evalua ningun metodo de traduccion del idioma, por lo que el tiempo de inicio no depende del tamano de la
+ * tabla.
+ * </p>
+ * <p>
+ * El archivo se lee a traves de un {@link FileChannel} mapeado en memoria. La tabla de traducciones (unos cientos de KB) se copia
+ * al heap, ya que se consulta en cada conversion; el texto de los numeros se lee directamente del archivo mapeado, por lo que
+ * varios procesos que cargan el mismo diccionario comparten sus paginas a traves del cache del sistema operativo.
+ * </p>
+ * <pre>
+ * Number2TextDictionary.write(Number2Text.spanish(), Paths.get("es.n2td"), Number2TextDictionary.MAX_NUMBERS);
+ * ...
+ * Number2TextConverter converter = Number2TextDictionary.load(Paths.get("es.n2td"));
+ * </pre>
+ * <p>
+ * Formato del archivo (todos los enteros en big-endian):
+ * </p>
+ * <ol>
+ *     <li>{@code int} {@link #MAGIC} y {@code int} {@link #VERSION}</li>
+ *     <li>Nombre de la clase del idioma: {@code short} con la longitud y el nombre en UTF-8</li>
+ *     <li>{@code int} con la cantidad de slots y la primera posicion de cada slot en el indice</li>
+ *     <li>{@code int} con la longitud del indice y el indice de los fragmentos</li>
+ *     <li>{@code int} con la longitud de los fragmentos y los fragmentos en UTF-8</li>
+ *     <li>{@code int} con la cantidad de numeros, la posicion del texto de cada numero ({@code numbers + 1} enteros) y el texto
+ *     de los numeros en UTF-8</li>
+ * </ol>
+ * <p>
+ * Esta clase es <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class Number2TextDictionary {
+    /**
+     * Identificador del formato: "N2TD" en ASCII.
+     */
+    static final int MAGIC = 0x4E325444;
+
+    static final int VERSION = 1;
+
+    /**
+     * Cantidad maxima de numeros cuyo texto completo se puede guardar en el diccionario.
+     */
+    public static final int MAX_NUMBERS = 1_000_000;
+
+    private Number2TextDictionary() {
+    }
+
+    /**
+     * Guarda la tabla de traducciones del idioma del convertidor, sin el texto completo de los numeros. Ver
+     * {@link #write(Number2TextConverter, Path, int)}.
+     */
+    public static void write(Number2TextConverter converter, Path file) throws IOException {
+        write(converter, file, 0);
+    }
+
+    /**
+     * Guarda la tabla de traducciones del idioma del convertidor y el texto completo de los numeros 0 a {@code numbers - 1}.
+     *
+     * @param converter El convertidor del idioma
+     * @param file El archivo de destino. Si existe, se reemplaza
+     * @param numbers Cantidad de numeros cuyo texto completo se guarda, entre 0 y {@link #MAX_NUMBERS}
+     * @throws IllegalArgumentException Si el idioma no usa tabla de traducciones o {@code numbers} esta fuera de rango
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public static void write(Number2TextConverter converter, Path file, int numbers) throws IOException {
+        Objects.requireNonNull(converter, "[converter] is required");
+        Objects.requireNonNull(file, "[file] is required");
+        GroupTable table = converter.table();
+        if (table == null) {
+            throw new IllegalArgumentException("The language [" + converter.language().getClass().getName() +
+                    "] does not use a conversion table");
+        }
+        if (numbers < 0 || numbers > MAX_NUMBERS) {
+            throw new IllegalArgumentException("[numbers] must be between 0 and " + MAX_NUMBERS);
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            byte[] className = converter.language().getClass().getName().getBytes(StandardCharsets.UTF_8);
+            output.writeShort(className.length);
+            output.write(className);
+
+            writeInts(output, table.slotOffsets());
+            writeInts(output, table.index());
+            output.writeInt(table.bytes().length);
+            output.write(table.bytes());
+
+            output.writeInt(numbers);
+            if (numbers > 0) {
+                ByteArrayOutputStream text = new ByteArrayOutputStream(numbers * 48);
+                output.writeInt(0);
+                for (int number = 0; number < numbers; number++) {
+                    text.write(converter.convert(number).getBytes(StandardCharsets.UTF_8));
+                    output.writeInt(text.size());
+                }
+                text.writeTo(output);
+            }
+        }
+    }
+
+    /**
+     * Guarda la tabla de traducciones y el texto completo de los numeros 0 a {@code numbers - 1} de la clase de idioma
+     * {@code languageClass}, por ejemplo, desde la linea de comandos. La clase solo se inicializa si es una subclase de
+     * {@link Number2Text}. Ver {@link #write(Number2TextConverter, Path, int)}.
+     *
+     * @param languageClass Nombre de una subclase de {@link Number2Text} con un constructor publico que recibe un {@code long}
+     * @param file El archivo de destino. Si existe, se reemplaza
+     * @param numbers Cantidad de numeros cuyo texto completo se guarda, entre 0 y {@link #MAX_NUMBERS}
+     * @throws IllegalArgumentException Si la clase no es un idioma, el idioma no usa tabla de traducciones o {@code numbers} esta
+     *                                  fuera de rango
+     * @throws IOException Si ocurre un error al escribir el archivo
+     */
+    public static void write(String languageClass, Path file, int numbers) throws IOException {
+        Objects.requireNonNull(languageClass, "[languageClass] is required");
+        write(createLanguage(languageClass).converter(), file, numbers);
+    }
+
+    private static void writeInts(DataOutputStream output, int[] values) throws IOException {
+        output.writeInt(values.length);
+        for (int value : values) {
+            output.writeInt(value);
+        }
+    }
+
+    /**
+     * Carga un diccionario y crea un convertidor que lo usa. El convertidor devuelto no reemplaza al convertidor compartido del
+     * idioma; ver {@link #install(Path)}.
+     *
+     * @param file El archivo del diccionario
+     * @return Un convertidor cuyo resultado es identico al del convertidor que genero el diccionario
+     * @throws IllegalArgumentException Si el archivo no es un diccionario valido o la clase del idioma no existe
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    public static Number2TextConverter load(Path file) throws IOException {
+        Objects.requireNonNull(file, "[file] is required");
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid dictionary file [" + file + "]: too large");
+            }
+            // The mapping remains valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Invalid dictionary file [" + file + "]: unknown format");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Invalid dictionary file [" + file + "]: unsupported version " + version);
+            }
+            byte[] className = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(className);
+            Number2Text language = createLanguage(new String(className, StandardCharsets.UTF_8));
+
+            int[] slotOffsets = readInts(buffer);
+            int[] index = readInts(buffer);
+            byte[] bytes = new byte[checkLength(buffer.getInt(), buffer.remaining())];
+            buffer.get(bytes);
+            GroupTable table = new GroupTable(bytes, index, slotOffsets);
+
+            int numbers = buffer.getInt();
+            if (numbers < 0 || numbers > MAX_NUMBERS) {
+                throw new IllegalArgumentException("Invalid dictionary file [" + file + "]: invalid numbers count " + numbers);
+            }
+            RenderedNumbers rendered = numbers == 0 ? null : new RenderedNumbers(buffer, buffer.position(), numbers);
+            return new Number2TextConverter(language, table, rendered);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid dictionary file [" + file + "]: truncated content", ex);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer buffer) {
+        int[] values = new int[checkLength(buffer.getInt(), buffer.remaining() / Integer.BYTES)];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+        return values;
+    }
+
+    private static int checkLength(int length, int available) {
+        if (length < 0 || length > available) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+
+    private static Number2Text createLanguage(String className) {
+        try {
+            // The class name comes from a file or a command line: it is not initialized until it is known to be a language
+            Class<?> type = Class.forName(className, false, Number2Text.class.getClassLoader());
+            if (!Number2Text.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("The class [" + className + "] is not a language");
+            }
+            return type.asSubclass(Number2Text.class).getConstructor(long.class).newInstance(0L);
+        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException |
+                InvocationTargetException ex) {
+            throw new IllegalArgumentException("Unable to create the language [" + className + "]: " + ex, ex);
+        }
+    }
+
+    /**
+     * Carga un diccionario e instala el convertidor como el convertidor compartido de su idioma, de manera que
+     * {@link Number2Text#spanish()}, {@link Number2Text#english()}, {@link Number2TextRegistry} y los metodos de instancia de
+     * {@link Number2Text} lo usen. Debe invocarse al inicio de la aplicacion, antes de usar el idioma por primera vez; los
+     * componentes que ya obtuvieron el convertidor anterior lo siguen usando.
+     *
+     * @param file El archivo del diccionario
+     * @return El convertidor instalado
+     * @throws IllegalArgumentException Si el archivo no es un diccionario valido, la clase del idioma no existe o el idioma tiene
+     *                                  estado (ver {@link Number2Text#isStateless()})
+     * @throws IOException Si ocurre un error al leer el archivo
+     */
+    public static Number2TextConverter install(Path file) throws IOException {
+        Number2TextConverter converter = load(file);
+        Number2Text.install(converter);
+        return converter;
+    }
+}
@@ -0,0 +1,130 @@
+package ni.org.jug.subtiava.text;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Describe un idioma de forma declarativa: una lista de palabras y unas pocas reglas de concordancia. El procesador de anotaciones
+ * {@code ni.org.jug.subtiava.text.processor.Number2TextLanguageProcessor}, que se distribuye por separado en el artefacto
+ * {@code subtiava-processor}, genera en tiempo de compilacion una subclase final de {@link Number2Text} con el nombre
+ * {@link #name()} en el mismo paquete del tipo anotado. La subclase generada contiene la traduccion de los 1000 grupos posibles en
+ * arreglos constantes, por lo que no evalua {@code switch} ni construye texto en cada invocacion.
+ * </p>
+ * <p>
+ * Ejemplo (los arreglos se abrevian):
+ * </p>
+ * <pre>
+ * &#64;Number2TextLanguage(
+ *         name = "PortugueseNumber2Text",
+ *         units = {"zero", "um", "dois", ...},
+ *         teens = {"dez", "onze", "doze", ...},
+ *         tens = {"vinte", "trinta", ...},
+ *         tensSeparator = " e ",
+ *         hundreds = {"cento", "duzentos", ...},
+ *         exactHundred = "cem",
+ *         hundredsSeparator = " e ",
+ *         thousand = "mil",
+ *         million = {"milhao", "milhoes"},
+ *         billion = {"bilhao", "bilhoes"},
+ *         trillion = {"trilhao", "trilhoes"},
+ *         decimalFraction = "com %d/100")
+ * interface Portuguese {
+ * }
+ * </pre>
+ * <p>
+ * Las reglas soportadas son las que usan {@link SpanishNumber2Text} y {@link EnglishNumber2Text}: forma corta del uno
+ * ({@link #unitOne()}), centena exacta ({@link #exactHundred()}), singular y plural de las magnitudes y escala larga
+ * ({@link #longScale()}). Al igual que en los idiomas existentes, el grupo siempre se escribe antes de su magnitud (por ejemplo
+ * "un mil").
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Number2TextLanguage {
+    /**
+     * Nombre simple de la clase que se genera.
+     */
+    String name();
+
+    /**
+     * Traduccion de los numeros 0 a 9.
+     */
+    String[] units();
+
+    /**
+     * Forma del numero 1 cuando no es el ultimo digito del numero completo, por ejemplo "un" en espanol ("un mil",
+     * "veinte y un millones"). Si no se especifica, se usa la traduccion de {@link #units()}.
+     */
+    String unitOne() default "";
+
+    /**
+     * Traduccion de los numeros 10 a 19.
+     */
+    String[] teens();
+
+    /**
+     * Traduccion de las decenas 20, 30, ..., 90.
+     */
+    String[] tens();
+
+    /**
+     * Texto entre la decena y la unidad. Por ejemplo: {@code " y "} en espanol o {@code "-"} en ingles.
+     */
+    String tensSeparator() default " ";
+
+    /**
+     * Traduccion de las centenas 100, 200, ..., 900 cuando les siguen decenas o unidades. Por ejemplo: {@code "ciento"}.
+     */
+    String[] hundreds();
+
+    /**
+     * Traduccion del numero 100 cuando no le siguen decenas ni unidades. Por ejemplo: {@code "cien"}. Si no se especifica, se usa
+     * la traduccion de {@link #hundreds()}.
+     */
+    String exactHundred() default "";
+
+    /**
+     * Texto entre la centena y el resto del grupo.
+     */
+    String hundredsSeparator() default " ";
+
+    /**
+     * Traduccion de 10^3: una sola palabra o la forma singular y la forma plural, en ese orden.
+     */
+    String[] thousand();
+
+    /**
+     * Traduccion de 10^6: una sola palabra o la forma singular y la forma plural, en ese orden.
+     */
+    String[] million();
+
+    /**
+     * Traduccion de 10^9: una sola palabra o la forma singular y la forma plural, en ese orden. Se ignora si {@link #longScale()}
+     * es {@code true}.
+     */
+    String[] billion() default {};
+
+    /**
+     * Traduccion de 10^12: una sola palabra o la forma singular y la forma plural, en ese orden.
+     */
+    String[] trillion();
+
+    /**
+     * Indica si el idioma usa la escala larga, en la que 10^9 se expresa como mil millones: el grupo de 10^9 se traduce como la
+     * forma plural de {@link #thousand()}, seguida de la forma plural de {@link #million()} si el grupo de los millones es cero.
+     */
+    boolean longScale() default false;
+
+    /**
+     * Formato de la parte decimal, donde {@code %d} es el valor de la parte decimal. Por ejemplo: {@code "con %d/100"}.
+     */
+    String decimalFraction();
+}
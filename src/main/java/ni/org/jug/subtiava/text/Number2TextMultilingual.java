@@ -0,0 +1,163 @@
+package ni.org.jug.subtiava.text;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Convierte un mismo numero a texto en varios idiomas a la vez, por ejemplo, para cheques y facturas de exportacion que muestran
+ * el monto en espanol y en ingles. El numero se descompone en grupos una sola vez: cada grupo se traduce en todos los idiomas
+ * antes de pasar al siguiente, y la parte decimal de un {@link BigDecimal} tambien se calcula una sola vez.
+ * </p>
+ * <pre>
+ * String[] text = Number2TextMultilingual.spanishAndEnglish().convert(1_500, 45);
+ * // text[0]: "un mil quinientos con 45/100"
+ * // text[1]: "one thousand five hundred with 45/100"
+ * </pre>
+ * <p>
+ * El resultado en cada idioma es identico al de {@link Number2TextConverter#convert(long, int)}. Esta clase es inmutable y
+ * <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class Number2TextMultilingual {
+    /**
+     * Capacidad inicial del texto de cada idioma. Alcanza para la mayoria de los montos sin que el texto tenga que crecer.
+     */
+    private static final int INITIAL_CAPACITY = 128;
+
+    private final Number2TextConverter[] converters;
+
+    private Number2TextMultilingual(Number2TextConverter[] converters) {
+        this.converters = converters;
+    }
+
+    /**
+     * Crea un convertidor para los idiomas de {@code converters}. El texto de cada idioma se devuelve en el mismo orden.
+     *
+     * @param converters Los convertidores de cada idioma
+     * @return Una nueva instancia
+     * @throws IllegalArgumentException Si no se especifica ningun convertidor
+     */
+    public static Number2TextMultilingual of(Number2TextConverter... converters) {
+        Objects.requireNonNull(converters, "[converters] is required");
+        if (converters.length == 0) {
+            throw new IllegalArgumentException("At least one converter is required");
+        }
+        Number2TextConverter[] copy = converters.clone();
+        for (Number2TextConverter converter : copy) {
+            Objects.requireNonNull(converter, "[converters] must not contain null values");
+        }
+        return new Number2TextMultilingual(copy);
+    }
+
+    /**
+     * Devuelve un convertidor para espanol (posicion 0) e ingles (posicion 1).
+     *
+     * @return El convertidor para espanol e ingles
+     */
+    public static Number2TextMultilingual spanishAndEnglish() {
+        return of(Number2Text.spanish(), Number2Text.english());
+    }
+
+    /**
+     * Devuelve la cantidad de idiomas.
+     */
+    public int size() {
+        return converters.length;
+    }
+
+    /**
+     * Convierte el numero a texto en cada idioma. Ver {@link #convert(long, int)}.
+     */
+    public String[] convert(long number) {
+        return convert(number, -1);
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto en cada idioma.
+     *
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @return El texto en cada idioma, en el mismo orden de los convertidores
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public String[] convert(long number, int decimal) {
+        StringBuilder[] outputs = new StringBuilder[converters.length];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = new StringBuilder(INITIAL_CAPACITY);
+        }
+        appendTo(outputs, number, decimal);
+
+        String[] text = new String[outputs.length];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = outputs[i].toString();
+        }
+        return text;
+    }
+
+    /**
+     * Convierte un numero de tipo {@link BigDecimal} a texto en cada idioma. La parte decimal se redondea a 2 digitos.
+     *
+     * @param amount El numero a convertir
+     * @return El texto en cada idioma, en el mismo orden de los convertidores
+     * @throws IllegalArgumentException Si el numero es menor que cero
+     */
+    public String[] convert(BigDecimal amount) {
+        Objects.requireNonNull(amount, "[amount] is required");
+        long split = Amounts.split(amount);
+        return convert(Amounts.integerOf(amount, split), Amounts.decimalOf(amount, split));
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto y agrega el texto de cada idioma al final de la instancia de
+     * {@link StringBuilder} en la misma posicion de {@code outputs}.
+     *
+     * @param outputs Destino del texto de cada idioma, en el mismo orden de los convertidores
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @throws IllegalArgumentException Si la cantidad de destinos no es igual a la cantidad de idiomas, el numero es menor que
+     *                                  cero o la parte decimal es menor que -1
+     */
+    public void appendTo(StringBuilder[] outputs, long number, int decimal) {
+        Objects.requireNonNull(outputs, "[outputs] is required");
+        if (outputs.length != converters.length) {
+            throw new IllegalArgumentException("[outputs] must have " + converters.length + " elements");
+        }
+        for (StringBuilder output : outputs) {
+            Objects.requireNonNull(output, "[outputs] must not contain null values");
+        }
+        Number2Text.checkArguments(number, decimal);
+
+        if (number > Number2Text.MAX_VALUE) {
+            String digits = Long.toString(number);
+            for (StringBuilder output : outputs) {
+                output.append(digits);
+            }
+        } else {
+            appendLetters(outputs, number);
+        }
+
+        if (decimal != -1) {
+            for (int i = 0; i < outputs.length; i++) {
+                outputs[i].append(converters[i].decimalFraction(decimal));
+            }
+        }
+    }
+
+    private void appendLetters(StringBuilder[] outputs, long number) {
+        GroupIterator groups = new GroupIterator(number);
+
+        // Every group is computed once and translated in all the languages before moving to the next one
+        while (groups.next()) {
+            for (int i = 0; i < outputs.length; i++) {
+                if (!groups.isFirst()) {
+                    outputs[i].append(' ');
+                }
+                converters[i].appendGroup(outputs[i], groups.value(), groups.module(), groups.index());
+            }
+        }
+    }
+}
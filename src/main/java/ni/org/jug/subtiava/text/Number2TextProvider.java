@@ -0,0 +1,29 @@
+package ni.org.jug.subtiava.text;
+
+import java.util.Locale;
+
+/**
+ * Proveedor de un idioma para {@link Number2TextRegistry}. Los proveedores se descubren a traves de {@link java.util.ServiceLoader},
+ * por lo que cada implementacion debe tener un constructor publico sin parametros y estar registrada en el archivo
+ * {@code META-INF/services/ni.org.jug.subtiava.text.Number2TextProvider}.
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public interface Number2TextProvider {
+    /**
+     * Devuelve el {@link Locale} del idioma. Normalmente solo contiene el idioma (por ejemplo {@code es}), de manera que se use
+     * para cualquier pais; si contiene tambien el pais, solo se usa para ese pais.
+     *
+     * @return El {@link Locale} del idioma
+     */
+    Locale getLocale();
+
+    /**
+     * Crea una instancia del idioma. Solo se invoca una vez, la primera vez que se solicita el convertidor del idioma, y la
+     * instancia se usa para llenar la tabla de traducciones del convertidor compartido.
+     *
+     * @return Una instancia del idioma
+     */
+    Number2Text createLanguage();
+}
@@ -0,0 +1,144 @@
+package ni.org.jug.subtiava.text;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * <p>
+ * Registro de los idiomas disponibles, indexados por {@link Locale}. Los idiomas se descubren a traves de
+ * {@link ServiceLoader} (ver {@link Number2TextProvider}) la primera vez que se usa el registro, y el convertidor de cada idioma
+ * se crea la primera vez que se solicita, por lo que los idiomas que no se usan no consumen memoria ni tiempo de inicio.
+ * </p>
+ * <p>
+ * Los convertidores devueltos son los mismos convertidores compartidos de {@link Number2Text#spanish()} y
+ * {@link Number2Text#english()}. El convertidor de cada proveedor se crea una sola vez y se guarda junto al proveedor, que se
+ * busca por el {@link Locale} completo o por el codigo de su idioma; por lo tanto, una consulta no crea objetos y el registro no
+ * crece con la cantidad de {@link Locale} distintos que se solicitan.
+ * </p>
+ * <pre>
+ * Number2TextConverter converter = Number2TextRegistry.of(request.getLocale());
+ * </pre>
+ * <p>
+ * Esta clase es <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class Number2TextRegistry {
+    private Number2TextRegistry() {
+    }
+
+    /**
+     * Proveedores descubiertos a traves de {@link ServiceLoader}. Se cargan la primera vez que se accede a esta clase.
+     */
+    private static final class Providers {
+        static final Map<Locale, Registration> BY_LOCALE;
+
+        /**
+         * Proveedores registrados solo para un idioma (por ejemplo {@code es}), indexados por el codigo del idioma, para buscar
+         * un {@link Locale} regional sin crear el {@link Locale} de su idioma.
+         */
+        static final Map<String, Registration> BY_LANGUAGE;
+
+        static {
+            Map<Locale, Registration> byLocale = new HashMap<>();
+            Map<String, Registration> byLanguage = new HashMap<>();
+            for (Number2TextProvider provider : ServiceLoader.load(Number2TextProvider.class)) {
+                Locale locale = provider.getLocale();
+                // The first provider found for a locale wins
+                if (!byLocale.containsKey(locale)) {
+                    Registration registration = new Registration(provider);
+                    byLocale.put(locale, registration);
+                    if (locale.equals(new Locale(locale.getLanguage()))) {
+                        byLanguage.put(locale.getLanguage(), registration);
+                    }
+                }
+            }
+            BY_LOCALE = Collections.unmodifiableMap(byLocale);
+            BY_LANGUAGE = Collections.unmodifiableMap(byLanguage);
+        }
+    }
+
+    /**
+     * Un proveedor y su convertidor, que se crea la primera vez que se solicita.
+     */
+    private static final class Registration {
+        private final Number2TextProvider provider;
+        private volatile Number2TextConverter converter;
+
+        Registration(Number2TextProvider provider) {
+            this.provider = provider;
+        }
+
+        Number2TextConverter converter() {
+            Number2TextConverter result = converter;
+            if (result == null) {
+                synchronized (this) {
+                    result = converter;
+                    if (result == null) {
+                        result = create(provider);
+                        converter = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Busca el convertidor del idioma de {@code locale}. Primero se busca un proveedor registrado para el {@link Locale} completo
+     * (por ejemplo {@code es_NI}) y, si no existe, para su idioma ({@code es}).
+     *
+     * @param locale El {@link Locale} solicitado
+     * @return El convertidor del idioma o {@link Optional#empty()} si no existe un proveedor para el idioma
+     */
+    public static Optional<Number2TextConverter> find(Locale locale) {
+        Objects.requireNonNull(locale, "[locale] is required");
+        Registration registration = registrationOf(locale);
+        return registration == null ? Optional.empty() : Optional.of(registration.converter());
+    }
+
+    /**
+     * Devuelve el convertidor del idioma de {@code locale}. Ver {@link #find(Locale)}.
+     *
+     * @param locale El {@link Locale} solicitado
+     * @return El convertidor del idioma
+     * @throws IllegalArgumentException Si no existe un proveedor para el idioma
+     */
+    public static Number2TextConverter of(Locale locale) {
+        Objects.requireNonNull(locale, "[locale] is required");
+        Registration registration = registrationOf(locale);
+        if (registration == null) {
+            throw new IllegalArgumentException("There is no language registered for [" + locale + "]");
+        }
+        return registration.converter();
+    }
+
+    /**
+     * Devuelve los {@link Locale} de los proveedores registrados.
+     *
+     * @return Los {@link Locale} disponibles
+     */
+    public static Set<Locale> getAvailableLocales() {
+        return Providers.BY_LOCALE.keySet();
+    }
+
+    private static Registration registrationOf(Locale locale) {
+        Registration registration = Providers.BY_LOCALE.get(locale);
+        return registration != null ? registration : Providers.BY_LANGUAGE.get(locale.getLanguage());
+    }
+
+    private static Number2TextConverter create(Number2TextProvider provider) {
+        Number2Text language = provider.createLanguage();
+        // Only stateless languages share the converter of their class, see Number2Text#isStateless()
+        return language.isStateless() ? Number2Text.converterOf(language.getClass(), () -> language)
+                : new Number2TextConverter(language);
+    }
+}
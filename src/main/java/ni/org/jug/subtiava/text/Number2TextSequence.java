@@ -0,0 +1,127 @@
+package ni.org.jug.subtiava.text;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * Convertidor incremental para series de numeros consecutivos o cercanos, por ejemplo: numeros de comprobante del 1,000,001 al
+ * 1,500,000. Conserva el texto de los grupos de mayor magnitud (miles, millones, etc) del ultimo numero convertido, de manera
+ * que al convertir el siguiente numero solo se traduce el grupo de menor magnitud; los grupos de mayor magnitud se vuelven a
+ * traducir solamente cuando cambian.
+ * </p>
+ * <p>
+ * La traduccion de los grupos de mayor magnitud depende de su residuo ({@code module}). Por ejemplo, en espanol el grupo de los
+ * millones de 1,000,000 es "un millon", pero el de 2,000,000,000 es "dos mil millones" y el de 2,001,000,000 es "dos mil". Para
+ * respetar estas reglas, el texto conservado se asocia a la parte del numero a partir de los miles y a si el grupo de menor
+ * magnitud es cero o no, que es lo unico del residuo de la que depende la categoria (ver {@link GroupTable}) de cada grupo
+ * superior. El grupo de menor magnitud siempre tiene residuo cero, por lo que mantiene su forma final ("uno" en espanol).
+ * </p>
+ * <p>
+ * Esta regla es la misma que usa la tabla de traducciones. Un idioma que no usa la tabla ({@link Number2Text#useConversionTable()})
+ * puede depender del residuo completo, por lo que en ese caso cada numero se convierte completo, sin reutilizar texto.
+ * </p>
+ * <p>
+ * El resultado es identico al de {@link Number2TextConverter#convert(long, int)}. Las instancias se obtienen a traves de
+ * {@link Number2TextConverter#sequence()}.
+ * </p>
+ * <p>
+ * Esta clase <strong>NO</strong> es threadsafe; cada hilo debe usar su propia instancia.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class Number2TextSequence {
+    private static final int GROUP_SIZE = 1000;
+
+    private final Number2TextConverter converter;
+
+    /**
+     * Indica si el texto de los grupos de mayor magnitud se puede reutilizar: solo si el idioma usa la tabla de traducciones.
+     */
+    private final boolean incremental;
+
+    /**
+     * Contiene el texto de los grupos de mayor magnitud del ultimo numero convertido, seguido del texto del grupo de menor magnitud
+     * y de la parte decimal. Solo los primeros {@link #prefixLength} caracteres se conservan entre conversiones.
+     */
+    private final StringBuilder text = new StringBuilder(160);
+
+    /**
+     * Parte del ultimo numero convertido a partir de los miles ({@code number / 1000}). Es -1 si todavia no se ha convertido
+     * ningun numero.
+     */
+    private long high = -1;
+
+    /**
+     * Indica si el grupo de menor magnitud del ultimo numero convertido es cero.
+     */
+    private boolean lowIsZero;
+
+    private int prefixLength;
+
+    Number2TextSequence(Number2TextConverter converter) {
+        this.converter = Objects.requireNonNull(converter, "[converter] is required");
+        this.incremental = converter.table() != null;
+    }
+
+    /**
+     * Convierte el numero a texto. Ver {@link #convert(long, int)}.
+     */
+    public String convert(long number) {
+        return convert(number, -1);
+    }
+
+    /**
+     * Convierte el numero y su parte decimal a texto, reutilizando el texto de los grupos de mayor magnitud del numero convertido
+     * previamente si son los mismos.
+     *
+     * @param number El numero a convertir
+     * @param decimal La parte decimal del numero. Si su valor es -1, no se incluye en el texto final
+     * @return El numero en texto
+     * @throws IllegalArgumentException Si el numero es menor que cero o la parte decimal es menor que -1
+     */
+    public String convert(long number, int decimal) {
+        Number2Text.checkArguments(number, decimal);
+        if (!incremental || number > Number2Text.MAX_VALUE) {
+            return converter.convert(number, decimal);
+        }
+
+        long currentHigh = number / GROUP_SIZE;
+        int low = (int) (number - currentHigh * GROUP_SIZE);
+        boolean currentLowIsZero = low == 0;
+
+        if (currentHigh != high || currentLowIsZero != lowIsZero) {
+            renderHighGroups(number);
+            high = currentHigh;
+            lowIsZero = currentLowIsZero;
+        }
+
+        text.setLength(prefixLength);
+        if (currentHigh == 0 || !currentLowIsZero) {
+            if (prefixLength > 0) {
+                text.append(' ');
+            }
+            converter.appendGroup(text, low, 0, 0);
+        }
+        if (decimal != -1) {
+            text.append(converter.decimalFraction(decimal));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Traduce los grupos a partir de los miles y los conserva al inicio de {@link #text}.
+     */
+    private void renderHighGroups(long number) {
+        GroupIterator groups = new GroupIterator(number, 1);
+        text.setLength(0);
+        while (groups.next()) {
+            if (!groups.isFirst()) {
+                text.append(' ');
+            }
+            converter.appendGroup(text, groups.value(), groups.module(), groups.index());
+        }
+        prefixLength = text.length();
+    }
+}
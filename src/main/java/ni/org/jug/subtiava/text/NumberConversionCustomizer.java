@@ -4,7 +4,8 @@ package ni.org.jug.subtiava.text;
  * Representa un {@code listener} o {@code callback} a los eventos de conversion de un {@code grupo}. Esta interfaz permite
  * agregar dinamicamente comportamiento adicional al proceso de conversion. Este comportamiento sera definido externamente
  * por un cliente y le permitira realizar ajustes al texto producido por la conversion. Se puede usar para insertar caracteres
- * adicionales como una coma o palabras adicionales en cualquier parte del texto.
+ * adicionales como una coma o palabras adicionales en cualquier parte del texto. Para evitar crear una instancia de
+ * {@link NumberConversionEvent} por cada grupo, se puede implementar {@link PrimitiveConversionCustomizer}.
  *
  * @author aalaniz
  * @version 1.0
@@ -20,4 +21,14 @@ public interface NumberConversionCustomizer {
      * @param output Almacena el resultado de la conversion del {@code grupo} que se esta procesando
      */
     void onConversion(EventType eventType, ConversionType conversionType, NumberConversionEvent event, StringBuilder output);
+
+    /**
+     * Indica si el texto producido con esta instancia puede almacenarse en un {@link Number2TextCache}. Solo las instancias sin
+     * estado, cuyo resultado depende unicamente de los parametros recibidos en {@link #onConversion}, deben devolver {@code true}.
+     *
+     * @return {@code true} si el resultado de la conversion puede reutilizarse, {@code false} en caso contrario
+     */
+    default boolean isCacheable() {
+        return false;
+    }
 }
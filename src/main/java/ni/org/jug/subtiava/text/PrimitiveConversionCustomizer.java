@@ -0,0 +1,32 @@
+package ni.org.jug.subtiava.text;
+
+/**
+ * Variante de {@link NumberConversionCustomizer} que recibe la informacion contextual del {@code grupo} como parametros primitivos
+ * en lugar de una instancia de {@link NumberConversionEvent}. Cuando se usa esta interfaz, el proceso de conversion no crea ningun
+ * objeto por cada grupo ni por cada evento.
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface PrimitiveConversionCustomizer extends NumberConversionCustomizer {
+    /**
+     * Este metodo se invoca antes y despues de la traduccion/conversion de un {@code grupo}.
+     *
+     * @param eventType Describe el momento de la operacion (antes o despues)
+     * @param conversionType Describe lo que se esta convirtiendo (ya sea un numero de 'n' digitos o la magnitud)
+     * @param value Numero cuyos valores oscilan entre 0 a 999
+     * @param module El residuo de dividir el numero que se esta procesando entre 10^index
+     * @param index La magnitud o cantidad de ceros a la derecha del grupo. Posibles valores: 0, 3, 6, 9, 12
+     * @param output Almacena el resultado de la conversion del {@code grupo} que se esta procesando
+     */
+    void onConversion(EventType eventType, ConversionType conversionType, int value, long module, int index, StringBuilder output);
+
+    /**
+     * Delega la notificacion a {@link #onConversion(EventType, ConversionType, int, long, int, StringBuilder)}.
+     */
+    @Override
+    default void onConversion(EventType eventType, ConversionType conversionType, NumberConversionEvent event, StringBuilder output) {
+        onConversion(eventType, conversionType, event.value, event.module, event.index, output);
+    }
+}
@@ -0,0 +1,78 @@
+package ni.org.jug.subtiava.text;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Texto completo, codificado en UTF-8, de los numeros 0 a {@code count - 1}, leido directamente de un {@link ByteBuffer} (un
+ * archivo mapeado en memoria, ver {@link Number2TextDictionary}). El contenido no se copia al heap, por lo que varios procesos que
+ * mapean el mismo archivo comparten las mismas paginas de memoria del sistema operativo.
+ * </p>
+ * <p>
+ * El buffer contiene {@code count + 1} enteros con la posicion del texto de cada numero, seguidos del texto de todos los numeros.
+ * Cada hilo lee el texto a traves de su propia vista del buffer, por lo que esta clase es <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+final class RenderedNumbers {
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int offsetsStart;
+    private final int textStart;
+    private final int textLength;
+    private final ThreadLocal<ByteBuffer> views;
+
+    /**
+     * @param buffer Buffer de solo lectura con el contenido
+     * @param offsetsStart Posicion en {@code buffer} del primer entero del indice
+     * @param count Cantidad de numeros
+     * @throws IllegalArgumentException Si las posiciones del indice no son consistentes con el contenido
+     */
+    RenderedNumbers(ByteBuffer buffer, int offsetsStart, int count) {
+        this.buffer = buffer;
+        this.count = count;
+        this.offsetsStart = offsetsStart;
+        this.textStart = offsetsStart + (count + 1) * Integer.BYTES;
+        this.textLength = buffer.limit() - textStart;
+        this.views = ThreadLocal.withInitial(buffer::duplicate);
+
+        // Only the bounds are checked, so the index is not read at startup; the offsets of each number are checked when it is read
+        int first = buffer.getInt(offsetsStart);
+        int last = buffer.getInt(offsetsStart + count * Integer.BYTES);
+        if (textLength < 0 || first != 0 || last < 0 || last > textLength) {
+            throw new IllegalArgumentException("Invalid rendered numbers section");
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Indica si el texto del numero se encuentra disponible.
+     */
+    boolean contains(long number) {
+        return number < count;
+    }
+
+    /**
+     * Copia el texto del numero, codificado en UTF-8, en {@code output}.
+     *
+     * @throws java.nio.BufferOverflowException Si el texto no cabe en el espacio restante de {@code output}
+     * @throws IllegalArgumentException Si las posiciones del texto del numero no son validas
+     */
+    void encodeTo(ByteBuffer output, int number) {
+        int start = buffer.getInt(offsetsStart + number * Integer.BYTES);
+        int end = buffer.getInt(offsetsStart + (number + 1) * Integer.BYTES);
+        if (start < 0 || start > end || end > textLength) {
+            throw new IllegalArgumentException("Invalid rendered numbers section: corrupt offsets for number [" + number + "]");
+        }
+
+        // The per-thread view keeps the reads threadsafe without creating a duplicate of the buffer on every call
+        ByteBuffer text = views.get();
+        text.limit(textStart + end).position(textStart + start);
+        output.put(text);
+    }
+}
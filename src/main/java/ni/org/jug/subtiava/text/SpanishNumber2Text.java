@@ -183,8 +183,19 @@ public class SpanishNumber2Text extends Number2Text {
         return output.toString();
     }
 
+    @Override
+    protected boolean isStateless() {
+        // Subclasses may add state, so they only share the converter if they say so
+        return getClass() == SpanishNumber2Text.class;
+    }
+
     @Override
     protected String withDecimalFraction() {
-        return new StringBuilder("con ").append(getDecimal()).append("/100").toString();
+        return withDecimalFraction(getDecimal());
+    }
+
+    @Override
+    protected String withDecimalFraction(int decimal) {
+        return new StringBuilder("con ").append(decimal).append("/100").toString();
     }
 }
@@ -0,0 +1,21 @@
+package ni.org.jug.subtiava.text;
+
+import java.util.Locale;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class SpanishNumber2TextProvider implements Number2TextProvider {
+    private static final Locale SPANISH = new Locale("es");
+
+    @Override
+    public Locale getLocale() {
+        return SPANISH;
+    }
+
+    @Override
+    public Number2Text createLanguage() {
+        return new SpanishNumber2Text(0);
+    }
+}
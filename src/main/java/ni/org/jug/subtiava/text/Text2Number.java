@@ -0,0 +1,569 @@
+package ni.org.jug.subtiava.text;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Realiza la operacion inversa de {@link Number2Text}: convierte un numero expresado en texto a su valor numerico. Se puede usar para
+ * verificar que el monto escrito en letras de un cheque coincida con el monto numerico.
+ * </p>
+ * <p>
+ * El vocabulario (lexicon) no se escribe a mano: se obtiene de los mismos metodos de conversion del idioma
+ * ({@code unit/ten/hundred/magnitude} y {@code withDecimalFraction}) y se almacena en un {@code trie}. Cada palabra se clasifica como
+ * numero (por ejemplo {@code treinta}), multiplicador de centenas ({@code hundred}), mil, magnitud ({@code millon}, {@code billion})
+ * o conector ({@code y}). El texto se procesa en una sola pasada, sin expresiones regulares: se separan las palabras (por espacios,
+ * comas o guiones), se buscan en el {@code trie} y se acumula su valor. La comparacion de las palabras ignora mayusculas y tildes.
+ * </p>
+ * <p>
+ * Las magnitudes se acumulan de la siguiente manera: {@code mil} multiplica el grupo que le precede, y las magnitudes mayores
+ * multiplican todo lo acumulado desde la ultima magnitud mayor. Esto permite interpretar tanto la escala larga del espanol
+ * ({@code cinco mil un millon}) como la escala corta del ingles ({@code five billion one million}).
+ * </p>
+ * <p>
+ * Solo se aceptan los textos con la estructura que produce {@link Number2Text}: dentro de cada grupo, las centenas preceden a las
+ * decenas y estas a las unidades ({@code dos tres} y {@code cien cien} no son validos); cada {@code mil} y cada magnitud mayor
+ * debe estar precedida por un grupo, y las magnitudes mayores deben ser estrictamente decrecientes ({@code un millon un billon}
+ * no es valido). {@code cero} solo es valido como unica palabra del numero.
+ * </p>
+ * <p>
+ * Esta clase es inmutable y <strong>threadsafe</strong>.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class Text2Number {
+    // Word kinds
+    private static final int NUMBER = 1;
+    private static final int HUNDRED = 2;
+    private static final int THOUSAND = 3;
+    private static final int MAGNITUDE = 4;
+    private static final int CONNECTOR = 5;
+    private static final int DECIMAL_FRACTION = 6;
+
+    // Last part read of the current group: the parts must appear in this order
+    private static final int NO_PART = 0;
+    private static final int HUNDREDS_PART = 1;
+    private static final int TENS_PART = 2;
+    private static final int UNITS_PART = 3;
+
+    // Scanner states
+    private static final int NUMBER_WORDS = 0;
+    private static final int FRACTION = 1;
+    private static final int END = 2;
+
+    /**
+     * Valor que indica la ausencia de la parte decimal en el resultado de {@link #scan(CharSequence, boolean)}.
+     */
+    private static final int NO_DECIMAL = 127;
+
+    private final Lexicon lexicon;
+
+    private Text2Number(Lexicon lexicon) {
+        this.lexicon = lexicon;
+    }
+
+    /**
+     * Devuelve el analizador para el idioma espanol.
+     */
+    public static Text2Number spanish() {
+        return SpanishHolder.INSTANCE;
+    }
+
+    /**
+     * Devuelve el analizador para el idioma ingles.
+     */
+    public static Text2Number english() {
+        return EnglishHolder.INSTANCE;
+    }
+
+    /**
+     * Crea un analizador cuyo vocabulario se obtiene de los metodos de conversion del idioma de {@code converter}.
+     *
+     * @param converter El convertidor del idioma
+     * @return El analizador del idioma
+     * @throws IllegalArgumentException Si no es posible deducir el vocabulario a partir de los metodos de conversion
+     */
+    public static Text2Number of(Number2TextConverter converter) {
+        Objects.requireNonNull(converter, "[converter] is required");
+        return new Text2Number(LexiconBuilder.build(converter.language()));
+    }
+
+    /**
+     * Convierte el texto a numero. Si el texto incluye la parte decimal (por ejemplo {@code con 45/100}), esta se valida pero no se
+     * incluye en el resultado.
+     *
+     * @param text El numero en texto
+     * @return La parte entera del numero
+     * @throws IllegalArgumentException Si el texto no representa un numero valido
+     */
+    public long parse(CharSequence text) {
+        Objects.requireNonNull(text, "[text] is required");
+        return scan(text, true) >> 7;
+    }
+
+    /**
+     * Convierte el texto a un numero de tipo {@link BigDecimal}, incluyendo la parte decimal si existe.
+     *
+     * @param text El numero en texto
+     * @return El numero, con escala 2 si el texto incluye la parte decimal o escala 0 en caso contrario
+     * @throws IllegalArgumentException Si el texto no representa un numero valido
+     */
+    public BigDecimal parseAmount(CharSequence text) {
+        Objects.requireNonNull(text, "[text] is required");
+        long result = scan(text, true);
+        long number = result >> 7;
+        int decimal = (int) (result & 0x7F);
+        return decimal == NO_DECIMAL ? BigDecimal.valueOf(number) : BigDecimal.valueOf(number * 100 + decimal, 2);
+    }
+
+    /**
+     * Verifica que el texto represente el numero y la parte decimal indicados. Este metodo no lanza errores si el texto no es valido.
+     *
+     * @param text El numero en texto
+     * @param number El numero esperado
+     * @param decimal La parte decimal esperada o -1 si el texto no debe incluir la parte decimal
+     * @return {@code true} si el texto es valido y representa el numero indicado, {@code false} en caso contrario
+     */
+    public boolean matches(CharSequence text, long number, int decimal) {
+        if (text == null) {
+            return false;
+        }
+        long result = scan(text, false);
+        if (result < 0) {
+            return false;
+        }
+        int parsedDecimal = (int) (result & 0x7F);
+        return result >> 7 == number && (parsedDecimal == NO_DECIMAL ? -1 : parsedDecimal) == decimal;
+    }
+
+    /**
+     * Procesa el texto en una sola pasada.
+     *
+     * @return {@code numero << 7 | parte decimal} ({@link #NO_DECIMAL} si no existe) o -1 si el texto no es valido y
+     * {@code throwException} es {@code false}
+     */
+    private long scan(CharSequence text, boolean throwException) {
+        long high = 0;    // accumulated value of the magnitudes greater than a thousand
+        long low = 0;     // accumulated value of the thousands since the last magnitude
+        long current = 0; // value of the group being read
+        long lastMagnitude = Long.MAX_VALUE; // last magnitude greater than a thousand
+        int part = NO_PART;
+        boolean zero = false;
+        boolean connector = false;
+        int decimal = NO_DECIMAL;
+        int state = NUMBER_WORDS;
+        boolean empty = true;
+        int length = text.length();
+        int position = 0;
+
+        try {
+            while (position < length) {
+                if (isSeparator(text.charAt(position))) {
+                    position++;
+                    continue;
+                }
+                int end = position;
+                while (end < length && !isSeparator(text.charAt(end))) {
+                    end++;
+                }
+
+                if (state == FRACTION) {
+                    decimal = parseFraction(text, position, end);
+                    if (decimal < 0) {
+                        return invalid(throwException, "Invalid decimal fraction", text, position, end);
+                    }
+                    state = END;
+                } else if (state == END) {
+                    return invalid(throwException, "Unexpected text after the decimal fraction", text, position, end);
+                } else {
+                    int node = lexicon.find(text, position, end);
+                    int kind = node < 0 ? 0 : lexicon.kind[node];
+                    if (connector && kind != NUMBER) {
+                        return invalid(throwException, "Missing number after a connector", text, position, end);
+                    }
+                    switch (kind) {
+                        case NUMBER:
+                            long value = lexicon.value[node];
+                            int next = partOf(value);
+                            if (zero || next <= part || (value == 0 && !empty)) {
+                                return invalid(throwException, "Unexpected number", text, position, end);
+                            }
+                            current = Math.addExact(current, value);
+                            part = next;
+                            zero = value == 0;
+                            connector = false;
+                            break;
+                        case HUNDRED:
+                            // Only a single unit can be multiplied: "three hundred"
+                            if (part != UNITS_PART || zero || current > 9) {
+                                return invalid(throwException, "Unexpected hundred", text, position, end);
+                            }
+                            current = Math.multiplyExact(current, 100);
+                            part = HUNDREDS_PART;
+                            break;
+                        case THOUSAND:
+                            if (part == NO_PART || zero || low != 0) {
+                                return invalid(throwException, "Unexpected thousand", text, position, end);
+                            }
+                            low = Math.multiplyExact(current, 1_000);
+                            current = 0;
+                            part = NO_PART;
+                            break;
+                        case MAGNITUDE:
+                            long magnitude = lexicon.value[node];
+                            long amount = Math.multiplyExact(Math.addExact(low, current), magnitude);
+                            if (zero || amount == 0 || magnitude >= lastMagnitude || amount >= lastMagnitude) {
+                                return invalid(throwException, "Unexpected magnitude", text, position, end);
+                            }
+                            high = Math.addExact(high, amount);
+                            lastMagnitude = magnitude;
+                            low = 0;
+                            current = 0;
+                            part = NO_PART;
+                            break;
+                        case CONNECTOR:
+                            if (part == NO_PART) {
+                                return invalid(throwException, "Unexpected connector", text, position, end);
+                            }
+                            connector = true;
+                            break;
+                        case DECIMAL_FRACTION:
+                            if (empty) {
+                                return invalid(throwException, "Missing number", text, position, end);
+                            }
+                            state = FRACTION;
+                            break;
+                        default:
+                            return invalid(throwException, "Unknown word", text, position, end);
+                    }
+                    empty = false;
+                }
+                position = end;
+            }
+
+            if (empty || connector || state == FRACTION) {
+                return invalid(throwException, "Incomplete number", text, length, length);
+            }
+            long number = Math.addExact(Math.addExact(high, low), current);
+            if (number <= Number2Text.MAX_VALUE) {
+                return number << 7 | decimal;
+            }
+        } catch (ArithmeticException ex) {
+            // Overflow: handled below as any other number greater than the maximum
+        }
+        return invalid(throwException, "Number is greater than the maximum value allowed", text, 0, length);
+    }
+
+    /**
+     * Devuelve la parte del grupo que ocupa la palabra: centenas, decenas que pueden ir seguidas de una unidad ({@code treinta y
+     * uno}, {@code diez y seis}) o unidades, que incluyen los numeros de dos digitos de una sola palabra ({@code once}).
+     */
+    private static int partOf(long value) {
+        if (value >= 100) {
+            return HUNDREDS_PART;
+        }
+        return value >= 10 && value % 10 == 0 ? TENS_PART : UNITS_PART;
+    }
+
+    private static long invalid(boolean throwException, String reason, CharSequence text, int start, int end) {
+        if (throwException) {
+            throw new IllegalArgumentException(reason + " [" + text.subSequence(start, end) + "] at position " + start);
+        }
+        return -1;
+    }
+
+    /**
+     * Interpreta la parte decimal con el formato {@code NN/100}.
+     *
+     * @return La parte decimal (0 a 99) o -1 si el formato no es valido
+     */
+    private static int parseFraction(CharSequence text, int start, int end) {
+        int decimal = 0;
+        int position = start;
+        while (position < end && position - start < 2 && isDigit(text.charAt(position))) {
+            decimal = decimal * 10 + (text.charAt(position) - '0');
+            position++;
+        }
+        if (position == start || end - position != 4) {
+            return -1;
+        }
+        if (text.charAt(position) != '/' || text.charAt(position + 1) != '1' || text.charAt(position + 2) != '0'
+                || text.charAt(position + 3) != '0') {
+            return -1;
+        }
+        return decimal;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == ',' || c == '-' || Character.isWhitespace(c);
+    }
+
+    /**
+     * Normaliza un caracter para la busqueda en el {@code trie}: minusculas y sin tildes.
+     */
+    static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        switch (Character.toLowerCase(c)) {
+            case '\u00E1':
+                return 'a';
+            case '\u00E9':
+                return 'e';
+            case '\u00ED':
+                return 'i';
+            case '\u00F3':
+                return 'o';
+            case '\u00FA':
+            case '\u00FC':
+                return 'u';
+            default:
+                return Character.toLowerCase(c);
+        }
+    }
+
+    private static final class SpanishHolder {
+        static final Text2Number INSTANCE = of(Number2Text.spanish());
+    }
+
+    private static final class EnglishHolder {
+        static final Text2Number INSTANCE = of(Number2Text.english());
+    }
+
+    /**
+     * {@code Trie} inmutable con el vocabulario del idioma. Los nodos se almacenan en arreglos paralelos; los hijos de cada nodo se
+     * almacenan ordenados por caracter.
+     */
+    private static final class Lexicon {
+        final char[][] labels;
+        final int[][] children;
+        final int[] kind;
+        final long[] value;
+
+        Lexicon(char[][] labels, int[][] children, int[] kind, long[] value) {
+            this.labels = labels;
+            this.children = children;
+            this.kind = kind;
+            this.value = value;
+        }
+
+        /**
+         * Busca la palabra comprendida entre {@code start} (inclusive) y {@code end} (exclusive).
+         *
+         * @return El nodo de la palabra o -1 si la palabra no existe
+         */
+        int find(CharSequence text, int start, int end) {
+            int node = 0;
+            for (int i = start; i < end; i++) {
+                char c = fold(text.charAt(i));
+                char[] nodeLabels = labels[node];
+                int child = Arrays.binarySearch(nodeLabels, c);
+                if (child < 0) {
+                    return -1;
+                }
+                node = children[node][child];
+            }
+            return kind[node] == 0 ? -1 : node;
+        }
+    }
+
+    /**
+     * Deduce el vocabulario de un idioma a partir de sus metodos de conversion.
+     */
+    private static final class LexiconBuilder {
+        private final List<StringBuilder> labels = new ArrayList<>();
+        private final List<List<Integer>> children = new ArrayList<>();
+        private final List<Integer> kinds = new ArrayList<>();
+        private final List<Long> values = new ArrayList<>();
+
+        private LexiconBuilder() {
+            addNode();
+        }
+
+        static Lexicon build(Number2Text language) {
+            LexiconBuilder builder = new LexiconBuilder();
+
+            // Units: every variant produced by the representative contexts of a group ("uno" and "un")
+            for (int value = 0; value < 10; value++) {
+                for (long[] context : contexts()) {
+                    builder.define(words(language.unit(value, context[0], (int) context[1])), 0, NUMBER, value, true);
+                }
+            }
+
+            // Tens: "veinte y ocho", "twenty-eight", "once", "fourteen"
+            for (int value = 10; value < 100; value++) {
+                for (long[] context : contexts()) {
+                    String[] words = words(language.ten(value, context[0], (int) context[1]));
+                    builder.defineCompound(words, value, value % 10, value % 10 == 0 ? 0 : 1);
+                }
+            }
+
+            // Hundreds: "cien", "ciento uno", "trescientos", "three hundred one"
+            for (int value = 100; value < 1000; value++) {
+                for (long[] context : contexts()) {
+                    String[] words = words(language.hundred(value, context[0], (int) context[1]));
+                    int rest = value % 100;
+                    int restWords = rest == 0 ? 0 : words(Number2Text.isUnit(rest)
+                            ? language.unit(rest, context[0], (int) context[1])
+                            : language.ten(rest, context[0], (int) context[1])).length;
+                    builder.defineHundred(words, value, words.length - restWords);
+                }
+            }
+
+            // Magnitudes: "mil", "millon", "millones", "mil millones", "thousand", "billion"
+            for (int index = 3; index <= 12; index += 3) {
+                for (int value = 1; value <= 2; value++) {
+                    for (long module : new long[]{0, 1, Number2Text.POWERS_OF_TEN[index / 3 - 1]}) {
+                        String[] words = words(language.magnitude(value, module, index));
+                        if (words.length == 1) {
+                            builder.define(words, 0, index == 3 ? THOUSAND : MAGNITUDE, Number2Text.POWERS_OF_TEN[index / 3], false);
+                        }
+                    }
+                }
+            }
+
+            // Decimal fraction prefix: "con", "with"
+            String[] words = words(language.withDecimalFraction(45));
+            for (int i = 0; i < words.length - 1; i++) {
+                builder.define(words, i, DECIMAL_FRACTION, 0, false);
+            }
+
+            return builder.toLexicon();
+        }
+
+        private static long[][] contexts() {
+            return new long[][]{{0, 0}, {1, 3}};
+        }
+
+        private static String[] words(String text) {
+            List<String> words = new ArrayList<>();
+            int length = text.length();
+            int position = 0;
+            while (position < length) {
+                if (isSeparator(text.charAt(position))) {
+                    position++;
+                    continue;
+                }
+                int end = position;
+                while (end < length && !isSeparator(text.charAt(end))) {
+                    end++;
+                }
+                words.add(text.substring(position, end));
+                position = end;
+            }
+            return words.toArray(new String[0]);
+        }
+
+        /**
+         * Define un numero de dos digitos: una sola palabra o la palabra de la decena, conectores y la palabra de la unidad.
+         */
+        private void defineCompound(String[] words, int value, int unit, int unitWords) {
+            if (words.length == 1) {
+                define(words, 0, NUMBER, value, true);
+                return;
+            }
+            define(words, 0, NUMBER, value - unit, true);
+            for (int i = 1; i < words.length - unitWords; i++) {
+                define(words, i, CONNECTOR, 0, true);
+            }
+        }
+
+        /**
+         * Define un numero de tres digitos. Las primeras {@code hundredWords} palabras corresponden a las centenas: una sola palabra
+         * ({@code ciento}, {@code trescientos}) o la palabra de la unidad seguida del multiplicador ({@code three hundred}) y de
+         * conectores opcionales ({@code and}).
+         */
+        private void defineHundred(String[] words, int value, int hundredWords) {
+            int hundreds = value - value % 100;
+            if (hundredWords == 1) {
+                define(words, 0, NUMBER, hundreds, true);
+                return;
+            }
+            if (hundredWords < 2) {
+                throw new IllegalArgumentException("Unable to infer the words of the number " + value);
+            }
+            define(words, 1, HUNDRED, 100, true);
+            for (int i = 2; i < hundredWords; i++) {
+                define(words, i, CONNECTOR, 0, true);
+            }
+        }
+
+        /**
+         * Agrega la palabra al {@code trie}. Si la palabra ya existe, se conserva su definicion original.
+         */
+        private void define(String[] words, int position, int kind, long value, boolean strict) {
+            if (position >= words.length) {
+                return;
+            }
+            String word = words[position];
+            int node = 0;
+            for (int i = 0; i < word.length(); i++) {
+                node = child(node, fold(word.charAt(i)));
+            }
+            if (kinds.get(node) == 0) {
+                kinds.set(node, kind);
+                values.set(node, value);
+            } else if (strict && kinds.get(node) == NUMBER && kind == NUMBER && values.get(node) != value) {
+                throw new IllegalArgumentException("Word [" + word + "] is used for the numbers " + values.get(node) + " and "
+                        + value);
+            }
+        }
+
+        private int child(int node, char c) {
+            StringBuilder nodeLabels = labels.get(node);
+            for (int i = 0; i < nodeLabels.length(); i++) {
+                if (nodeLabels.charAt(i) == c) {
+                    return children.get(node).get(i);
+                }
+            }
+            int child = addNode();
+            nodeLabels.append(c);
+            children.get(node).add(child);
+            return child;
+        }
+
+        private int addNode() {
+            labels.add(new StringBuilder());
+            children.add(new ArrayList<>());
+            kinds.add(0);
+            values.add(0l);
+            return kinds.size() - 1;
+        }
+
+        private Lexicon toLexicon() {
+            int size = kinds.size();
+            char[][] sortedLabels = new char[size][];
+            int[][] sortedChildren = new int[size][];
+            int[] kind = new int[size];
+            long[] value = new long[size];
+
+            for (int node = 0; node < size; node++) {
+                char[] nodeLabels = labels.get(node).toString().toCharArray();
+                Integer[] order = new Integer[nodeLabels.length];
+                for (int i = 0; i < order.length; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, (a, b) -> Character.compare(nodeLabels[a], nodeLabels[b]));
+
+                sortedLabels[node] = new char[order.length];
+                sortedChildren[node] = new int[order.length];
+                for (int i = 0; i < order.length; i++) {
+                    sortedLabels[node][i] = nodeLabels[order[i]];
+                    sortedChildren[node][i] = children.get(node).get(order[i]);
+                }
+                kind[node] = kinds.get(node);
+                value[node] = values.get(node);
+            }
+            return new Lexicon(sortedLabels, sortedChildren, kind, value);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class CedulaBatchTest {
+
+    private static String cedula(Random random) {
+        String base = String.format("%03d%02d%02d%02d%04d", random.nextInt(1000), random.nextInt(32), 1 + random.nextInt(12),
+                random.nextInt(100), random.nextInt(10_000));
+        String cedula = base + Cedula.VALID_CHARACTERS.charAt((int) (Long.parseLong(base) % Cedula.VALID_CHARACTERS.length()));
+        switch (random.nextInt(8)) {
+            case 0:
+                return cedula.substring(1);
+            case 1:
+                return cedula.substring(0, 5) + 'O' + cedula.substring(6);
+            case 2:
+                return cedula.substring(0, 13) + 'F';
+            case 3:
+                return cedula.substring(0, 2) + "\u0665" + cedula.substring(3);
+            case 4:
+                return cedula.toLowerCase() + '\r';
+            case 5:
+                return "";
+            default:
+                return cedula;
+        }
+    }
+
+    @Test
+    void validate_CedulasFile_InvalidLinesInOrder() throws IOException {
+        StringBuilder content = new StringBuilder();
+        Random random = new Random(22);
+        for (int i = 0; i < 20_000; i++) {
+            content.append(cedula(random)).append('\n');
+        }
+        content.append("2811311830009V");
+
+        StringBuilder expected = new StringBuilder();
+        CedulaValidationSummary summary = new CedulaValidationSummary();
+        try (BufferedReader reader = new BufferedReader(new StringReader(content.toString()))) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                CedulaValidation validation = summary.add(line);
+                if (validation != CedulaValidation.VALID) {
+                    expected.append(lineNumber).append(',').append(validation).append('\n');
+                }
+            }
+        }
+
+        Path input = Files.createTempFile("cedulas", ".txt");
+        Path output = Files.createTempFile("cedulas", ".out");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Files.write(input, content.toString().getBytes(StandardCharsets.UTF_8));
+            CedulaBatch.Report report = new CedulaBatch(1024).validate(input, output, pool);
+
+            assertEquals(expected.toString(), new String(Files.readAllBytes(output), StandardCharsets.US_ASCII));
+            assertEquals(20_001, report.getRecordCount());
+            assertEquals(summary.getInvalidCount(), report.getInvalidCount());
+            for (CedulaValidation validation : CedulaValidation.values()) {
+                assertEquals(summary.getCount(validation), report.getSummary().getCount(validation));
+            }
+        } finally {
+            pool.shutdown();
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    void validate_BareCarriageReturn_PartOfTheLine() throws IOException {
+        Path input = Files.createTempFile("cedulas", ".txt");
+        Path output = Files.createTempFile("cedulas", ".out");
+        try {
+            Files.write(input, "2811311830009V\r2811311830009V\n2811311830009V\r\n".getBytes(StandardCharsets.UTF_8));
+            CedulaBatch.Report report = new CedulaBatch().validate(input, output);
+
+            assertEquals(2, report.getRecordCount());
+            assertEquals("1," + Cedula.check("2811311830009V\r2811311830009V") + "\n",
+                    new String(Files.readAllBytes(output), StandardCharsets.US_ASCII));
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    void validate_LineLargerThanChunk_ThrowException() throws IOException {
+        Path input = Files.createTempFile("cedulas", ".txt");
+        Path output = Files.createTempFile("cedulas", ".out");
+        try {
+            Files.write(input, "2811311830009V\n2811311830009V\n".getBytes(StandardCharsets.UTF_8));
+            CedulaBatch batch = new CedulaBatch(10);
+            assertThrows(IllegalArgumentException.class, () -> batch.validate(input, output));
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+}
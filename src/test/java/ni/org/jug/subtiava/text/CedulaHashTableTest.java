@@ -0,0 +1,37 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class CedulaHashTableTest {
+
+    @Test
+    void insert_MaximumCapacity_TableUnchanged() {
+        CedulaHashTable table = new CedulaHashTable(0, false, true, 32);
+        List<Long> cedulas = CedulaSetTest.encodedCedulas(new Random(27), 25);
+        for (int i = 0; i < 24; i++) {
+            long cedula = cedulas.get(i);
+            table.insert(~table.indexOf(cedula), cedula, i);
+        }
+        assertEquals(32, table.capacity());
+
+        long extra = cedulas.get(24);
+        int index = table.indexOf(extra);
+        assertThrows(IllegalStateException.class, () -> table.insert(~index, extra, 24));
+        assertEquals(24, table.size());
+        assertTrue(table.indexOf(extra) < 0);
+        for (int i = 0; i < 24; i++) {
+            assertTrue(table.indexOf(cedulas.get(i)) >= 0);
+        }
+    }
+}
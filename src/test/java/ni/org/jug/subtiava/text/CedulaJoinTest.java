@@ -0,0 +1,148 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class CedulaJoinTest {
+
+    private static String cedulas(Random random, List<Long> pool, Set<Long> valid) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 3_000; i++) {
+            long encoded = pool.get(random.nextInt(pool.size()));
+            String cedula = Cedula.decodeToString(encoded);
+            switch (random.nextInt(10)) {
+                case 0:
+                    content.append(cedula.substring(1));
+                    break;
+                case 1:
+                    content.append(cedula.toLowerCase()).append('\r');
+                    valid.add(encoded);
+                    break;
+                case 2:
+                    content.append((char) ('\u0660' + cedula.charAt(0) - '0')).append(cedula.substring(1));
+                    valid.add(encoded);
+                    break;
+                default:
+                    content.append(cedula);
+                    valid.add(encoded);
+            }
+            content.append('\n');
+        }
+        return content.toString();
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void join_CedulasFiles_IntersectionAndDifferences() throws IOException {
+        Random random = new Random(25);
+        List<Long> pool = CedulaSetTest.encodedCedulas(random, 4_000);
+        Set<Long> left = new TreeSet<>();
+        Set<Long> right = new TreeSet<>();
+        String leftContent = cedulas(random, pool.subList(0, 2_500), left);
+        String rightContent = cedulas(random, pool.subList(1_500, 4_000), right);
+
+        Path directory = Files.createTempDirectory("cedulas");
+        try {
+            Path leftPath = Files.write(directory.resolve("left.txt"), leftContent.getBytes(StandardCharsets.UTF_8));
+            Path rightPath = Files.write(directory.resolve("right.txt"), rightContent.getBytes(StandardCharsets.UTF_8));
+            Path temp = Files.createDirectory(directory.resolve("temp"));
+
+            List<Long> both = new ArrayList<>();
+            List<Long> leftOnly = new ArrayList<>();
+            List<Long> rightOnly = new ArrayList<>();
+            List<Long> all = new ArrayList<>();
+            List<CedulaJoin.Phase> phases = new ArrayList<>();
+            CedulaJoin.Report report = new CedulaJoin(temp, 100, 3, 16, 1024).join(leftPath, rightPath, (encoded, membership) -> {
+                all.add(encoded);
+                if (membership == CedulaJoin.Membership.BOTH) {
+                    both.add(encoded);
+                } else if (membership == CedulaJoin.Membership.LEFT_ONLY) {
+                    leftOnly.add(encoded);
+                } else {
+                    rightOnly.add(encoded);
+                }
+            }, (phase, records, elapsedNanos) -> phases.add(phase));
+
+            Set<Long> expectedBoth = new TreeSet<>(left);
+            expectedBoth.retainAll(right);
+            Set<Long> expectedLeftOnly = new TreeSet<>(left);
+            expectedLeftOnly.removeAll(right);
+            Set<Long> expectedRightOnly = new TreeSet<>(right);
+            expectedRightOnly.removeAll(left);
+            Set<Long> expectedAll = new TreeSet<>(left);
+            expectedAll.addAll(right);
+
+            assertEquals(new ArrayList<>(expectedBoth), both);
+            assertEquals(new ArrayList<>(expectedLeftOnly), leftOnly);
+            assertEquals(new ArrayList<>(expectedRightOnly), rightOnly);
+            assertEquals(new ArrayList<>(expectedAll), all);
+            assertEquals(expectedBoth.size(), report.getCount(CedulaJoin.Membership.BOTH));
+            assertEquals(6_000, report.getRecordCount(CedulaJoin.Phase.SORT));
+            assertEquals(3_000, report.getLeftSummary().getTotalCount());
+            assertEquals(new BufferedReader(new StringReader(leftContent)).lines().collect(CedulaValidationSummary.collector())
+                    .getInvalidCount(), report.getLeftSummary().getInvalidCount());
+            assertTrue(report.getRecordCount(CedulaJoin.Phase.MERGE) > expectedAll.size());
+            assertTrue(phases.contains(CedulaJoin.Phase.SORT) && phases.contains(CedulaJoin.Phase.MERGE));
+            try (Stream<Path> files = Files.list(temp)) {
+                assertEquals(0, files.count());
+            }
+
+            Path output = directory.resolve("output.txt");
+            new CedulaJoin(temp, 1_000).join(leftPath, rightPath, output, CedulaJoin.Membership.LEFT_ONLY);
+            String expected = expectedLeftOnly.stream().map(encoded -> Cedula.decodeToString(encoded) + '\n')
+                    .collect(Collectors.joining());
+            assertEquals(expected, new String(Files.readAllBytes(output), StandardCharsets.US_ASCII));
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    void join_InvalidArguments_ThrowException() throws IOException {
+        Path directory = Files.createTempDirectory("cedulas");
+        try {
+            Path empty = Files.createFile(directory.resolve("empty.txt"));
+            CedulaJoin.Report report = new CedulaJoin(directory, 10).join(empty, empty, (encoded, membership) -> {
+                throw new AssertionError();
+            });
+            assertEquals(0, report.getRecordCount(CedulaJoin.Phase.MERGE));
+
+            assertThrows(IllegalArgumentException.class, () -> new CedulaJoin(directory, 0));
+            assertThrows(IllegalArgumentException.class, () -> new CedulaJoin(directory, 10, 1, 16, 1024));
+            assertThrows(IllegalArgumentException.class, () -> new CedulaJoin(directory, 10, 2, 12, 1024));
+            assertThrows(NullPointerException.class, () -> new CedulaJoin(null, 10));
+            assertThrows(NullPointerException.class, () -> new CedulaJoin().join(empty, empty, null));
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+}
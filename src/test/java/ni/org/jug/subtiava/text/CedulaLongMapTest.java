@@ -0,0 +1,73 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class CedulaLongMapTest {
+
+    private static void putAndRemove_RandomCedulas_SameAsHashMap(CedulaLongMap map) {
+        Random random = new Random(24);
+        List<Long> cedulas = CedulaSetTest.encodedCedulas(random, 2_000);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            long cedula = cedulas.get(random.nextInt(cedulas.size()));
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertEquals(expected.remove(cedula) != null, map.remove(cedula));
+                    break;
+                case 1:
+                    expected.put(cedula, (long) i);
+                    map.put(cedula, i);
+                    break;
+                default:
+                    assertEquals((long) expected.merge(cedula, 1L, Long::sum), map.addTo(cedula, 1));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long cedula : cedulas) {
+            assertEquals(expected.containsKey(cedula), map.containsKey(cedula));
+            assertEquals((long) expected.getOrDefault(cedula, -1L), map.getOrDefault(cedula, -1));
+        }
+
+        Map<Long, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(cedulas.get(0)));
+    }
+
+    @Test
+    void put_RandomCedulas_SameAsHashMap() {
+        putAndRemove_RandomCedulas_SameAsHashMap(new CedulaLongMap());
+    }
+
+    @Test
+    void put_OffHeap_SameAsHashMap() {
+        CedulaLongMap map = CedulaLongMap.offHeap(1_000);
+        assertTrue(map.isOffHeap());
+        putAndRemove_RandomCedulas_SameAsHashMap(map);
+    }
+
+    @Test
+    void put_InvalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new CedulaLongMap(-1));
+        assertThrows(IllegalArgumentException.class, () -> new CedulaLongMap().put(Cedula.INVALID_ENCODING, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CedulaLongMap().addTo(0, 1));
+        assertThrows(NullPointerException.class, () -> new CedulaLongMap().forEach(null));
+    }
+}
@@ -0,0 +1,89 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class CedulaSetTest {
+
+    static List<Long> encodedCedulas(Random random, int count) {
+        List<Long> cedulas = new ArrayList<>(count);
+        while (cedulas.size() < count) {
+            long base = Math.abs(random.nextLong() % 10_000_000_000_000L);
+            long encoded = Cedula.encode(String.format("%013d", base) + Cedula.VALID_CHARACTERS.charAt((int) (base % 23)));
+            if (encoded != Cedula.INVALID_ENCODING) {
+                cedulas.add(encoded);
+            }
+        }
+        return cedulas;
+    }
+
+    private static void addAndRemove_RandomCedulas_SameAsHashSet(CedulaSet set) {
+        Random random = new Random(24);
+        List<Long> cedulas = encodedCedulas(random, 2_000);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            long cedula = cedulas.get(random.nextInt(cedulas.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(cedula), set.remove(cedula));
+            } else {
+                assertEquals(expected.add(cedula), set.add(cedula));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (long cedula : cedulas) {
+            assertEquals(expected.contains(cedula), set.contains(cedula));
+        }
+
+        Set<Long> actual = new HashSet<>();
+        set.forEach(actual::add);
+        assertEquals(expected, actual);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(cedulas.get(0)));
+    }
+
+    @Test
+    void add_RandomCedulas_SameAsHashSet() {
+        addAndRemove_RandomCedulas_SameAsHashSet(new CedulaSet());
+    }
+
+    @Test
+    void add_OffHeap_SameAsHashSet() {
+        CedulaSet set = CedulaSet.offHeap(1_000);
+        assertTrue(set.isOffHeap());
+        addAndRemove_RandomCedulas_SameAsHashSet(set);
+    }
+
+    @Test
+    void add_Cedula_ContainsEncoding() {
+        CedulaSet set = new CedulaSet(10);
+        assertTrue(set.add(Cedula.of("2811311830009V")));
+        assertFalse(set.add(Cedula.encode("2811311830009v")));
+        assertTrue(set.contains(Cedula.of("2811311830009v")));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void add_InvalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new CedulaSet(-1));
+        assertThrows(IllegalArgumentException.class, () -> new CedulaSet(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new CedulaSet().add(Cedula.INVALID_ENCODING));
+        assertThrows(IllegalArgumentException.class, () -> new CedulaSet().contains(0));
+        assertThrows(NullPointerException.class, () -> new CedulaSet().add(null));
+    }
+}
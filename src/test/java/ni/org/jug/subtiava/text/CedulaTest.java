@@ -2,8 +2,19 @@ package ni.org.jug.subtiava.text;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -58,4 +69,188 @@ public class CedulaTest {
         assertEquals('V', cedula.checkDigit);
         assertEquals("281-131183-0009V", cedula.getCedula('-'));
     }
+
+    @Test
+    void check_InvalidCedula_ReasonCode() {
+        assertSame(CedulaValidation.VALID, Cedula.check("2811311830009v"));
+        assertSame(CedulaValidation.INVALID_LENGTH, Cedula.check(null));
+        assertSame(CedulaValidation.INVALID_LENGTH, Cedula.check("281131183009V"));
+        assertSame(CedulaValidation.INVALID_CHARACTER, Cedula.check("28113118300O9V"));
+        assertSame(CedulaValidation.INVALID_CHARACTER, Cedula.check("28113118300090"));
+        assertSame(CedulaValidation.INVALID_CHARACTER, Cedula.check("2811311830009I"));
+        assertSame(CedulaValidation.INVALID_DATE, Cedula.check("2813111830009V"));
+        assertSame(CedulaValidation.INVALID_DATE, Cedula.check("0012902010000A"));
+        assertSame(CedulaValidation.INVALID_CHECK_DIGIT, Cedula.check("2811311830009F"));
+        assertSame(CedulaValidation.INVALID_CHECK_DIGIT, Cedula.check("2811311830009-"));
+
+        char[] chars = "xx2811311830009Vxx".toCharArray();
+        assertSame(CedulaValidation.VALID, Cedula.check(chars, 2, Cedula.NATIONAL_ID_LENGTH));
+        assertSame(CedulaValidation.INVALID_LENGTH, Cedula.check(chars, 2, Cedula.NATIONAL_ID_LENGTH + 1));
+        assertTrue(Cedula.validate(new StringBuilder("2811311830009V")));
+        assertThrows(IndexOutOfBoundsException.class, () -> Cedula.check(chars, 5, Cedula.NATIONAL_ID_LENGTH));
+    }
+
+    @Test
+    void check_RandomCedulas_SameResultAsDateParsing() {
+        Random random = new Random(21);
+        String characters = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcxyz-\u0660\u0665\u017F";
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder cedula = new StringBuilder(Cedula.NATIONAL_ID_LENGTH);
+            cedula.append(String.format("%03d%02d%02d%02d%04d", random.nextInt(1000), random.nextInt(33), random.nextInt(14),
+                    random.nextInt(100), random.nextInt(10_000)));
+            if (random.nextInt(4) == 0) {
+                cedula.setCharAt(random.nextInt(cedula.length()), characters.charAt(random.nextInt(characters.length())));
+            }
+            int index = (int) (Long.parseLong(cedula.toString().replaceAll("\\D", "0")) % Cedula.VALID_CHARACTERS.length());
+            cedula.append(random.nextBoolean() ? Cedula.VALID_CHARACTERS.charAt(index) :
+                    characters.charAt(random.nextInt(characters.length())));
+
+            String value = cedula.toString();
+            assertEquals(validateWithDateParsing(value), Cedula.validate(value), value);
+            assertEquals(Cedula.validate(value), Cedula.validate(value.toCharArray(), 0, value.length()), value);
+        }
+    }
+
+    /**
+     * Validacion original, basada en {@link LocalDate#parse(CharSequence)} y {@link Long#parseLong(String)}.
+     */
+    private static boolean validateWithDateParsing(String cedula) {
+        if (cedula == null || cedula.length() != Cedula.NATIONAL_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < Cedula.NATIONAL_ID_LENGTH - 1; i++) {
+            if (!Character.isDigit(cedula.charAt(i))) {
+                return false;
+            }
+        }
+        char last = Character.toUpperCase(cedula.charAt(Cedula.NATIONAL_ID_LENGTH - 1));
+        if (Character.isDigit(last) || (Character.isLetter(last) && Cedula.VALID_CHARACTERS.indexOf(last) == -1)) {
+            return false;
+        }
+        String shortIsoDate = cedula.substring(7, 9) + '-' + cedula.substring(5, 7) + '-' + cedula.substring(3, 5);
+        if (!isIsoDate("19" + shortIsoDate) && !isIsoDate("20" + shortIsoDate)) {
+            return false;
+        }
+        long base = Long.parseLong(cedula.substring(0, Cedula.NATIONAL_ID_LENGTH - 1));
+        return Cedula.VALID_CHARACTERS.charAt((int) (base % Cedula.VALID_CHARACTERS.length())) == last;
+    }
+
+    private static boolean isIsoDate(String date) {
+        try {
+            LocalDate.parse(date);
+            return true;
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    @Test
+    void summary_Cedulas_CountByReasonCode() {
+        CedulaValidationSummary summary = CedulaValidationSummary.of(Arrays.asList("2811311830009V", "2811311830009v", null,
+                "28113118300O9V", "2813111830009V", "2811311830009F"));
+        assertEquals(6, summary.getTotalCount());
+        assertEquals(2, summary.getValidCount());
+        assertEquals(4, summary.getInvalidCount());
+        assertEquals(1, summary.getCount(CedulaValidation.INVALID_LENGTH));
+        assertEquals(1, summary.getCount(CedulaValidation.INVALID_CHARACTER));
+        assertEquals(1, summary.getCount(CedulaValidation.INVALID_DATE));
+        assertEquals(1, summary.getCount(CedulaValidation.INVALID_CHECK_DIGIT));
+
+        CedulaValidationSummary parallel = Stream.of("2811311830009V", "", "2811311830009F").parallel()
+                .collect(CedulaValidationSummary.collector());
+        assertEquals(3, parallel.getTotalCount());
+        assertEquals(1, parallel.getValidCount());
+        assertEquals(2, summary.merge(parallel).getCount(CedulaValidation.INVALID_LENGTH));
+        assertSame(CedulaValidation.INVALID_DATE, CedulaValidation.ofOrdinal(CedulaValidation.INVALID_DATE.ordinal()));
+    }
+
+    @Test
+    void validateRecords_FixedWidthRecords_MaskOfValidRecords() {
+        Random random = new Random(23);
+        int count = 10_000;
+        int stride = Cedula.NATIONAL_ID_LENGTH + 2;
+        byte[] records = new byte[3 + count * stride];
+        String characters = "0123456789/:ABCDFIOVXYZafvy -\u00B5\u00E9\u00FF";
+        for (int i = 0; i < count; i++) {
+            StringBuilder cedula = new StringBuilder(String.format("%03d%02d%02d%02d%04d", random.nextInt(1000), random.nextInt(33),
+                    random.nextInt(14), random.nextInt(100), random.nextInt(10_000)));
+            int index = (int) (Long.parseLong(cedula.toString()) % Cedula.VALID_CHARACTERS.length());
+            cedula.append(Cedula.VALID_CHARACTERS.charAt(index));
+            if (random.nextBoolean()) {
+                cedula.setCharAt(random.nextInt(cedula.length()), characters.charAt(random.nextInt(characters.length())));
+            }
+            byte[] bytes = cedula.toString().getBytes(StandardCharsets.ISO_8859_1);
+            System.arraycopy(bytes, 0, records, 3 + i * stride, bytes.length);
+        }
+
+        long[] mask = Cedula.validateRecords(records, 3, count, stride);
+        BitSet valid = BitSet.valueOf(mask);
+        int validCount = 0;
+        for (int i = 0; i < count; i++) {
+            String cedula = new String(records, 3 + i * stride, Cedula.NATIONAL_ID_LENGTH, StandardCharsets.ISO_8859_1);
+            assertEquals(Cedula.validate(cedula), valid.get(i), cedula);
+            validCount += Cedula.validate(cedula) ? 1 : 0;
+        }
+        assertEquals(validCount, valid.cardinality());
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(records.length);
+        buffer.put(records).position(3);
+        assertArrayEquals(mask, Cedula.validateRecords(buffer, count, stride));
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    void validateRecords_InvalidArguments_ThrowException() {
+        byte[] records = "2811311830009V2811311830009v".getBytes(StandardCharsets.US_ASCII);
+        assertArrayEquals(new long[]{3}, Cedula.validateRecords(records, 0, 2, Cedula.NATIONAL_ID_LENGTH));
+        assertArrayEquals(new long[0], Cedula.validateRecords(records, 0, 0, Cedula.NATIONAL_ID_LENGTH));
+        assertThrows(IndexOutOfBoundsException.class, () -> Cedula.validateRecords(records, 1, 2, Cedula.NATIONAL_ID_LENGTH));
+        assertThrows(IllegalArgumentException.class, () -> Cedula.validateRecords(records, 0, 2, Cedula.NATIONAL_ID_LENGTH - 1));
+        assertThrows(IllegalArgumentException.class, () -> Cedula.validateRecords(records, 0, -1, Cedula.NATIONAL_ID_LENGTH));
+    }
+
+    @Test
+    void encode_ValidCedula_RoundTrip() {
+        long encoded = Cedula.encode("2811311830009V");
+        assertEquals(2811311830009L << 5 | 2811311830009L % 23, encoded);
+        assertEquals(encoded, Cedula.encode("2811311830009v"));
+        assertEquals(encoded, Cedula.encode("\u0662\u066811311830009V"));
+        assertEquals(encoded, Cedula.of("2811311830009v").toLong());
+        assertTrue(Cedula.isValidEncoding(encoded));
+        assertEquals("2811311830009V", Cedula.decodeToString(encoded));
+        assertEquals(Cedula.of("2811311830009V"), Cedula.decode(encoded));
+        assertEquals(Cedula.of("2811311830009V").hashCode(), Cedula.decode(encoded).hashCode());
+
+        Random random = new Random(24);
+        long previousBase = -1;
+        long previousEncoded = -1;
+        for (int i = 0; i < 20_000; i++) {
+            long base = Math.abs(random.nextLong() % 10_000_000_000_000L);
+            String cedula = String.format("%013d", base) + Cedula.VALID_CHARACTERS.charAt((int) (base % 23));
+            long value = Cedula.encode(cedula);
+            assertEquals(Cedula.validate(cedula), value != Cedula.INVALID_ENCODING, cedula);
+            if (value != Cedula.INVALID_ENCODING) {
+                assertTrue(Cedula.isValidEncoding(value));
+                assertEquals(cedula, Cedula.decodeToString(value));
+                assertEquals(Long.compare(previousBase, base), Long.compare(previousEncoded, value));
+                previousBase = base;
+                previousEncoded = value;
+            }
+        }
+    }
+
+    @Test
+    void encode_InvalidCedula_InvalidEncoding() {
+        assertEquals(Cedula.INVALID_ENCODING, Cedula.encode(null));
+        assertEquals(Cedula.INVALID_ENCODING, Cedula.encode("2811311830009F"));
+        assertEquals(Cedula.INVALID_ENCODING, Cedula.encode("2813011830009V"));
+
+        long encoded = Cedula.encode("2811311830009V");
+        assertFalse(Cedula.isValidEncoding(Cedula.INVALID_ENCODING));
+        assertFalse(Cedula.isValidEncoding(0));
+        assertFalse(Cedula.isValidEncoding(encoded + 1));
+        assertFalse(Cedula.isValidEncoding(10_000_000_000_000L << 5));
+        assertThrows(IllegalArgumentException.class, () -> Cedula.decodeToString(encoded + 1));
+        assertThrows(IllegalArgumentException.class, () -> Cedula.decode(Cedula.INVALID_ENCODING));
+    }
 }
@@ -0,0 +1,75 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class CurrencyFormatTest {
+
+    @Test
+    void format_CurrencyWithFraction_SuccessfulConversion() {
+        CurrencyFormat format = CurrencyFormat.builder(Number2Text.spanish())
+                .prefix("** ")
+                .currency("cordoba", "cordobas")
+                .suffix(" **")
+                .build();
+        assertEquals("** un mil quinientos cordobas con 45/100 **", format.format(1_500, 45));
+        assertEquals("** un cordoba con 0/100 **", format.format(1, 0));
+        assertEquals("** veinte y un cordobas con 0/100 **", format.format(21, 0));
+        assertEquals("** ciento un mil cien cordobas **", format.format(101_100));
+        assertEquals("** ochenta y siete mil quinientos cordobas **", format.format(87_500));
+        assertEquals("** un mil cordobas con 75/100 **", format.format(new BigDecimal("1000.745")));
+
+        format = CurrencyFormat.builder(Number2Text.spanish())
+                .prefix("** ")
+                .currencyAfterCents("cordoba", "cordobas")
+                .suffix(" **")
+                .build();
+        assertEquals("** un mil quinientos con 45/100 cordobas **", format.format(1_500, 45));
+        assertEquals("** uno con 0/100 cordoba **", format.format(1, 0));
+        assertEquals("** treinta y un cordobas **", format.format(31));
+    }
+
+    @Test
+    void format_CentsInWords_SuccessfulConversion() {
+        CurrencyFormat format = CurrencyFormat.builder(Number2Text.spanish())
+                .currency("cordoba", "cordobas")
+                .centsInWords("con", "centavo", "centavos")
+                .build();
+        assertEquals("un mil quinientos cordobas con cuarenta y cinco centavos", format.format(1_500, 45));
+        assertEquals("dos cordobas con un centavo", format.format(2, 1));
+        assertEquals("diez cordobas con veinte y un centavos", format.format(10, 21));
+        assertEquals("cero cordobas con cero centavos", format.format(0, 0));
+
+        format = CurrencyFormat.builder(Number2Text.english())
+                .currency("dollar", "dollars")
+                .centsInWords("and", "cent", "cents")
+                .build();
+        assertEquals("one dollar and one cent", format.format(1, 1));
+        assertEquals("thirty-three thousand nine hundred seventy-seven dollars and ninety-nine cents", format.format(33_977, 99));
+    }
+
+    @Test
+    void format_WithoutCents_SuccessfulConversion() {
+        CurrencyFormat format = CurrencyFormat.builder(Number2Text.english()).withoutCents().suffix(" only").build();
+        assertEquals("five billion one million only", format.format(5_001_000_000l, 50));
+        assertEquals("Total: one thousand with 75/100", CurrencyFormat.builder(Number2Text.english()).build()
+                .appendTo(new StringBuilder("Total: "), 1_000, 75).toString());
+    }
+
+    @Test
+    void format_InvalidArguments_ThrowException() {
+        CurrencyFormat format = CurrencyFormat.builder(Number2Text.spanish()).build();
+        assertThrows(IllegalArgumentException.class, () -> format.format(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> format.format(1, 100));
+        assertThrows(IllegalArgumentException.class, () -> format.format(1, -2));
+        assertThrows(NullPointerException.class, () -> CurrencyFormat.builder(null));
+    }
+}
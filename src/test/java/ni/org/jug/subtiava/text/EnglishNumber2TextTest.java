@@ -2,6 +2,8 @@ package ni.org.jug.subtiava.text;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.util.function.BiFunction;
 
@@ -179,4 +181,15 @@ public class EnglishNumber2TextTest {
         converter = new EnglishNumber2Text(1_001_899, conversionCustomizer);
         assertEquals("** one million ** one thousand ** eight hundred ninety-nine", converter.toText());
     }
+
+    @Test
+    void appendTo_NumbersWithDecimalFraction_WrittenIntoOutput() throws IOException {
+        StringBuilder output = new StringBuilder("Amount: ");
+        new EnglishNumber2Text(new BigDecimal("1000.745")).appendTo(output);
+        assertEquals("Amount: one thousand with 75/100", output.toString());
+
+        Appendable writer = new StringWriter();
+        new EnglishNumber2Text(5_001_000_000l).appendTo(writer);
+        assertEquals("five billion one million", writer.toString());
+    }
 }
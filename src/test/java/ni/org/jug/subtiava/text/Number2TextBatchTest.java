@@ -0,0 +1,96 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class Number2TextBatchTest {
+
+    private static String record(String text, int recordLength) {
+        StringBuilder record = new StringBuilder(text);
+        while (record.toString().getBytes(StandardCharsets.UTF_8).length < recordLength - 1) {
+            record.append(' ');
+        }
+        return record.append('\n').toString();
+    }
+
+    @Test
+    void convert_AmountsFile_FixedWidthRecordsInOrder() throws IOException {
+        List<String> amounts = new ArrayList<>();
+        amounts.add("0");
+        amounts.add("1000");
+        amounts.add(" 45871.94 \r");
+        amounts.add("99.995");
+        amounts.add("0.004");
+        amounts.add("7.5");
+        amounts.add(".25");
+        amounts.add("1000000000000000000.10");
+        Random random = new Random(12);
+        for (int i = 0; i < 5_000; i++) {
+            amounts.add(Math.abs(random.nextLong() % 10_000_000_000_000l) + "." + random.nextInt(1000));
+        }
+
+        Path input = Files.createTempFile("amounts", ".txt");
+        Path output = Files.createTempFile("amounts", ".out");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Files.write(input, String.join("\n", amounts).getBytes(StandardCharsets.UTF_8));
+            Number2TextBatch batch = new Number2TextBatch(Number2Text.spanish(), 200, 1024);
+            Number2TextBatch.Report report = batch.convert(input, output, pool);
+
+            StringBuilder expected = new StringBuilder();
+            for (String amount : amounts) {
+                expected.append(record(Number2Text.spanish().convert(new BigDecimal(amount.trim())), 200));
+            }
+            assertEquals(amounts.size(), report.getRecordCount());
+            assertEquals(expected.toString(), new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+        } finally {
+            pool.shutdown();
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    void convert_InvalidInput_ThrowException() throws IOException {
+        Path input = Files.createTempFile("amounts", ".txt");
+        Path output = Files.createTempFile("amounts", ".out");
+        try {
+            Files.write(input, "1500\n15,00\n".getBytes(StandardCharsets.UTF_8));
+            Number2TextBatch english = new Number2TextBatch(Number2Text.english());
+            assertThrows(IllegalArgumentException.class, () -> english.convert(input, output));
+
+            Files.write(input, "1500\n-1\n".getBytes(StandardCharsets.UTF_8));
+            assertThrows(IllegalArgumentException.class, () -> english.convert(input, output));
+
+            Files.write(input, "1500\n\n".getBytes(StandardCharsets.UTF_8));
+            assertThrows(IllegalArgumentException.class, () -> english.convert(input, output));
+
+            Files.write(input, "333333.33\n".getBytes(StandardCharsets.UTF_8));
+            Number2TextBatch narrow = new Number2TextBatch(Number2Text.english(), 20);
+            assertThrows(IllegalArgumentException.class, () -> narrow.convert(input, output));
+
+            Files.write(input, "1500\n1000000\n".getBytes(StandardCharsets.UTF_8));
+            Number2TextBatch small = new Number2TextBatch(Number2Text.english(), 100, 4);
+            assertThrows(IllegalArgumentException.class, () -> small.convert(input, output));
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class Number2TextCacheTest {
+
+    @Test
+    void convert_RepeatedNumbers_CacheHit() {
+        Number2TextCache cache = new Number2TextCache(1_024);
+        Number2TextConverter spanish = Number2Text.spanish();
+
+        String text = cache.convert(spanish, 25_000, 50);
+        assertEquals("veinte y cinco mil con 50/100", text);
+        assertSame(text, cache.convert(spanish, 25_000, 50));
+        assertEquals("veinte y cinco mil con 50/100", cache.convert(spanish, new BigDecimal("25000.50")));
+        assertEquals("veinte y cinco mil", cache.convert(spanish, 25_000));
+        assertEquals("twenty-five thousand", cache.convert(Number2Text.english(), 25_000));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    void convert_MoreNumbersThanCapacity_SizeBounded() {
+        Number2TextCache cache = new Number2TextCache(100);
+        Number2TextConverter english = Number2Text.english();
+        assertEquals(64, cache.getCapacity());
+
+        for (long number = 0; number < 10_000; number++) {
+            assertEquals(english.convert(number), cache.convert(english, number));
+        }
+        assertEquals(10_000, cache.getMissCount());
+    }
+
+    @Test
+    void convert_NonCacheableCustomizer_CacheBypassed() {
+        Number2TextCache cache = new Number2TextCache(16);
+        NumberConversionCustomizer conversionCustomizer = (eventType, conversionType, event, output) -> {
+            if (eventType == EventType.BEFORE && conversionType != ConversionType.MAGNITUDE) {
+                output.append("** ");
+            }
+        };
+
+        assertEquals("** trescientos treinta y tres", cache.convert(Number2Text.spanish(), 333, -1, conversionCustomizer));
+        assertEquals("** trescientos treinta y tres", cache.convert(Number2Text.spanish(), 333, -1, conversionCustomizer));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void convert_CacheableCustomizer_CacheHit() {
+        Number2TextCache cache = new Number2TextCache(16);
+        NumberConversionCustomizer conversionCustomizer = new NumberConversionCustomizer() {
+            @Override
+            public void onConversion(EventType eventType, ConversionType conversionType, NumberConversionEvent event,
+                                     StringBuilder output) {
+                if (eventType == EventType.AFTER && conversionType == ConversionType.MAGNITUDE && event.index > 0) {
+                    output.append(',');
+                }
+            }
+
+            @Override
+            public boolean isCacheable() {
+                return true;
+            }
+        };
+
+        assertEquals("un mil, uno", cache.convert(Number2Text.spanish(), 1_001, -1, conversionCustomizer));
+        assertEquals("un mil, uno", cache.convert(Number2Text.spanish(), 1_001, -1, conversionCustomizer));
+        assertEquals("un mil uno", cache.convert(Number2Text.spanish(), 1_001));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void constructor_InvalidSize_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new Number2TextCache(0));
+    }
+}
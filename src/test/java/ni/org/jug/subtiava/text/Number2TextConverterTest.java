@@ -0,0 +1,261 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class Number2TextConverterTest {
+
+    @Test
+    void spanish_SameInstance_SharedConverter() {
+        assertSame(Number2Text.spanish(), Number2Text.spanish());
+        assertSame(Number2Text.english(), Number2Text.english());
+    }
+
+    /**
+     * Idioma con estado: el genero del numero uno depende de la instancia.
+     */
+    private static final class GenderedSpanish extends SpanishNumber2Text {
+        private final boolean feminine;
+
+        GenderedSpanish(long number, int decimal, boolean feminine) {
+            super(number, decimal, null);
+            this.feminine = feminine;
+        }
+
+        @Override
+        protected String unit(int value, long module, int index) {
+            return feminine && value == 1 && module == 0 && index == 0 ? "una" : super.unit(value, module, index);
+        }
+
+        @Override
+        protected String withDecimalFraction() {
+            return "y " + getDecimal() + " centimos";
+        }
+    }
+
+    @Test
+    void toText_StatefulLanguage_ConverterPerInstance() {
+        assertEquals("una", new GenderedSpanish(1, -1, true).toText());
+        assertEquals("uno", new GenderedSpanish(1, -1, false).toText());
+        assertEquals("veinte y una", new GenderedSpanish(21, -1, true).toText());
+        assertEquals("uno y 5 centimos", new GenderedSpanish(1, 5, false).toText());
+        assertEquals("uno", new SpanishNumber2Text(1).toText());
+    }
+
+    @Test
+    void convert_Numbers_SameTextAsNumber2Text() {
+        Number2TextConverter spanish = Number2Text.spanish();
+        Number2TextConverter english = Number2Text.english();
+
+        assertEquals("tres millones doscientos catorce mil setecientos treinta y uno", spanish.convert(3_214_731));
+        assertEquals("ciento un mil", spanish.convert(101_000));
+        assertEquals("cuarenta y cinco mil ochocientos setenta y uno con 94/100", spanish.convert(new BigDecimal("45871.9444")));
+        assertEquals("un mil con 75/100", spanish.convert(1_000, 75));
+        assertEquals("five billion one million", english.convert(5_001_000_000l));
+        assertEquals("one thousand with 75/100", english.convert(new BigDecimal("1000.745")));
+
+        for (long number = 0; number < 5_000; number += 7) {
+            assertEquals(new SpanishNumber2Text(number).toText(), spanish.convert(number));
+            assertEquals(new EnglishNumber2Text(number).toText(), english.convert(number));
+        }
+    }
+
+    @Test
+    void convert_NumbersWithConversionCustomizer_SuccessfulConversion() {
+        NumberConversionCustomizer conversionCustomizer = (eventType, conversionType, event, output) -> {
+            if (eventType == EventType.BEFORE && conversionType != ConversionType.MAGNITUDE) {
+                output.append("** ");
+            }
+        };
+        assertEquals("** un millon ** un mil ** ochocientos noventa y nueve",
+                Number2Text.spanish().convert(1_001_899, -1, conversionCustomizer));
+    }
+
+    @Test
+    void convert_NumbersWithPrimitiveConversionCustomizer_SuccessfulConversion() {
+        PrimitiveConversionCustomizer conversionCustomizer = (eventType, conversionType, value, module, index, output) -> {
+            if (eventType == EventType.AFTER && conversionType == ConversionType.MAGNITUDE && module > 0) {
+                output.append(',');
+            }
+        };
+        assertEquals("un millon, un mil, ochocientos noventa y nueve",
+                Number2Text.spanish().convert(1_001_899, -1, conversionCustomizer));
+        assertEquals("three hundred thirty-three", new EnglishNumber2Text(333, conversionCustomizer).toText());
+    }
+
+    @Test
+    void encode_Numbers_Utf8Bytes() {
+        Number2TextConverter spanish = Number2Text.spanish();
+        byte[] output = new byte[128];
+        output[0] = '>';
+
+        int written = spanish.encode(3_214_731, 45, output, 1);
+        String expected = "tres millones doscientos catorce mil setecientos treinta y uno con 45/100";
+        assertEquals(expected.length(), written);
+        assertEquals(">" + expected, new String(output, 0, written + 1, StandardCharsets.UTF_8));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        written = Number2Text.english().encode(new BigDecimal("1000.745"), buffer);
+        assertEquals(written, buffer.position());
+        buffer.flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertEquals("one thousand with 75/100", new String(bytes, StandardCharsets.US_ASCII));
+
+        for (long number = 0; number < 3_000; number += 3) {
+            buffer.clear();
+            written = spanish.encode(number, -1, buffer);
+            assertEquals(spanish.convert(number).length(), written);
+        }
+    }
+
+    @Test
+    void encode_NotEnoughSpace_ThrowException() {
+        assertThrows(BufferOverflowException.class, () -> Number2Text.spanish().encode(777, -1, new byte[10], 0));
+    }
+
+    @Test
+    void convert_InvalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> Number2Text.spanish().convert(-1));
+        assertThrows(IllegalArgumentException.class, () -> Number2Text.spanish().convert(1, -2));
+    }
+
+    @Test
+    void convert_SharedAcrossThreads_SuccessfulConversion() throws Exception {
+        Number2TextConverter spanish = Number2Text.spanish();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    for (long number = 999_000; number < 1_001_000; number++) {
+                        assertEquals(new SpanishNumber2Text(number).toText(), spanish.convert(number));
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void convert_Arrays_ResultsInOriginalOrder() {
+        Number2TextConverter spanish = Number2Text.spanish();
+        long[] numbers = new long[10_000];
+        BigDecimal[] amounts = new BigDecimal[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = i * 1_234_567l;
+            amounts[i] = BigDecimal.valueOf(numbers[i], 2);
+        }
+
+        String[] sequential = spanish.convert(numbers);
+        assertArrayEquals(sequential, spanish.convertParallel(numbers));
+        assertArrayEquals(sequential, spanish.convert(LongStream.of(numbers).parallel()));
+        assertArrayEquals(spanish.convert(amounts), spanish.convertParallel(amounts));
+
+        List<String> sink = new ArrayList<>();
+        spanish.convert(numbers, sink::add);
+        assertArrayEquals(sequential, sink.toArray(new String[0]));
+        assertEquals(new SpanishNumber2Text(numbers[9_999]).toText(), sequential[9_999]);
+    }
+
+    @Test
+    void length_Numbers_SameLengthAsText() {
+        Number2TextConverter[] converters = {Number2Text.spanish(), Number2Text.english()};
+        long[] numbers = {0, 1, 21, 100, 1_000, 101_000, 1_000_000, 5_001_000_000l, 1_000_000_000_000l, Number2Text.MAX_VALUE,
+                Number2Text.MAX_VALUE + 1};
+        for (Number2TextConverter converter : converters) {
+            for (long number : numbers) {
+                assertEquals(converter.convert(number).length(), converter.length(number));
+                assertEquals(converter.convert(number, 7).length(), converter.length(number, 7));
+                assertEquals(converter.convert(number, 150).length(), converter.length(number, 150));
+            }
+            for (long number = 0; number < 2_000_000_000_000l; number = number * 3 + 7) {
+                assertEquals(converter.convert(number, 45).length(), converter.length(number, 45));
+            }
+            assertEquals(converter.convert(new BigDecimal("1000.745")).length(), converter.length(new BigDecimal("1000.745")));
+        }
+        assertEquals(Number2Text.spanish().length(1_000) + Number2TextConverter.CUSTOMIZER_ALLOWANCE,
+                Number2Text.spanish().estimateLength(1_000, -1, (eventType, conversionType, event, output) -> {}));
+        assertThrows(IllegalArgumentException.class, () -> Number2Text.spanish().length(-1));
+    }
+
+    @Test
+    void sequence_ConsecutiveNumbers_SameTextAsConvert() {
+        Number2TextConverter[] converters = {Number2Text.spanish(), Number2Text.english()};
+        long[] starts = {0, 999_000, 1_000_000 - 5, 2_000_000_000 - 1_500, 1_000_000_000_000l - 10};
+        for (Number2TextConverter converter : converters) {
+            for (long start : starts) {
+                Number2TextSequence sequence = converter.sequence();
+                for (long number = start; number < start + 3_000; number++) {
+                    assertEquals(converter.convert(number), sequence.convert(number));
+                    assertEquals(converter.convert(number, 21), sequence.convert(number, 21));
+                }
+            }
+
+            Number2TextSequence sequence = converter.sequence();
+            for (long number = 0; number < Number2Text.MAX_VALUE; number = number * 7 + 1) {
+                assertEquals(converter.convert(number), sequence.convert(number));
+            }
+            assertEquals(converter.convert(Number2Text.MAX_VALUE + 1), sequence.convert(Number2Text.MAX_VALUE + 1));
+        }
+
+        List<String> sink = new ArrayList<>();
+        Number2Text.spanish().convertRange(1_000_000, 1_000_002, sink::add);
+        assertEquals("un millon", sink.get(0));
+        assertEquals("un millon uno", sink.get(1));
+        assertThrows(IllegalArgumentException.class, () -> Number2Text.spanish().sequence().convert(-1));
+    }
+
+    /**
+     * Idioma sin tabla de traducciones: la magnitud de los miles depende del residuo completo, no solo de su categoria.
+     */
+    private static final class BritishEnglish extends EnglishNumber2Text {
+        BritishEnglish(long number) {
+            super(number);
+        }
+
+        @Override
+        protected String tenToTheThirdPower(int value, long module) {
+            return module > 0 && module < 100 ? "thousand and" : "thousand";
+        }
+
+        @Override
+        protected boolean useConversionTable() {
+            return false;
+        }
+    }
+
+    @Test
+    void sequence_LanguageWithoutTable_SameTextAsConvert() {
+        Number2TextConverter converter = new Number2TextConverter(new BritishEnglish(0));
+        Number2TextSequence sequence = converter.sequence();
+        assertEquals("one thousand and five", sequence.convert(1_005));
+        assertEquals("one thousand two hundred", sequence.convert(1_200));
+        for (long number = 999_000; number < 1_003_000; number++) {
+            assertEquals(converter.convert(number), sequence.convert(number));
+        }
+    }
+}
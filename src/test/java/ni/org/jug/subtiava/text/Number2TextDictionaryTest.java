@@ -0,0 +1,186 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class Number2TextDictionaryTest {
+
+    private static volatile boolean notALanguageInitialized;
+
+    /**
+     * Clase que no es un idioma: la carga del diccionario no debe inicializarla.
+     */
+    static final class NotALanguage {
+        static {
+            notALanguageInitialized = true;
+        }
+    }
+
+    private static void assertSameConversion(Number2TextConverter expected, Number2TextConverter actual) {
+        Random random = new Random(19);
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        for (int i = 0; i < 20_000; i++) {
+            long number = i < 10_000 ? i : Math.abs(random.nextLong() % (Number2Text.MAX_VALUE + 1));
+            int decimal = random.nextInt(101) - 1;
+            String text = expected.convert(number, decimal);
+            assertEquals(text, actual.convert(number, decimal));
+            assertEquals(text.length(), actual.length(number, decimal));
+
+            buffer.clear();
+            actual.encode(number, decimal, null, buffer);
+            assertEquals(text, new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+        }
+        assertEquals(expected.convert(new BigDecimal("1000000000000000000.25")),
+                actual.convert(new BigDecimal("1000000000000000000.25")));
+    }
+
+    @Test
+    void load_DictionaryWithoutNumbers_SameTextAsConverter() throws IOException {
+        Path file = Files.createTempFile("spanish", ".n2td");
+        try {
+            Number2TextDictionary.write(Number2Text.spanish(), file);
+            assertSameConversion(Number2Text.spanish(), Number2TextDictionary.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void load_DictionaryWithNumbers_SameTextAsConverter() throws IOException {
+        Path file = Files.createTempFile("english", ".n2td");
+        Path spanishFile = Files.createTempFile("spanish", ".n2td");
+        try {
+            Number2TextDictionary.write(Number2Text.english(), file, 5_000);
+            assertSameConversion(Number2Text.english(), Number2TextDictionary.load(file));
+
+            Number2TextDictionary.write(Number2Text.spanish(), spanishFile, 5_000);
+            Number2TextConverter spanish = Number2TextDictionary.load(spanishFile);
+            assertSameConversion(Number2Text.spanish(), spanish);
+            NumberConversionCustomizer conversionCustomizer = (eventType, conversionType, event, output) -> {
+                if (eventType == EventType.BEFORE && conversionType != ConversionType.MAGNITUDE) {
+                    output.append("** ");
+                }
+            };
+            assertEquals("** veinte y uno con 50/100", spanish.convert(21, 50, conversionCustomizer));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(spanishFile);
+        }
+    }
+
+    @Test
+    void load_CorruptFile_IllegalArgumentException() throws IOException {
+        Path file = Files.createTempFile("corrupt", ".n2td");
+        try {
+            Number2TextDictionary.write(Number2Text.spanish(), file, 100);
+            byte[] content = Files.readAllBytes(file);
+
+            Files.write(file, Arrays.copyOf(content, content.length / 2));
+            assertThrows(IllegalArgumentException.class, () -> Number2TextDictionary.load(file));
+
+            content[0] = 'X';
+            Files.write(file, content);
+            assertThrows(IllegalArgumentException.class, () -> Number2TextDictionary.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void encode_CorruptOffset_IllegalArgumentException() throws IOException {
+        Path file = Files.createTempFile("corrupt", ".n2td");
+        try {
+            Number2TextDictionary.write(Number2Text.spanish(), file, 100);
+            int textLength = 0;
+            for (int number = 0; number < 100; number++) {
+                textLength += Number2Text.spanish().convert(number).getBytes(StandardCharsets.UTF_8).length;
+            }
+            // The offset of the number 50 is placed before the offset of the number 49
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+            content.putInt(content.limit() - textLength - 51 * Integer.BYTES, 0);
+            Files.write(file, content.array());
+
+            Number2TextConverter converter = Number2TextDictionary.load(file);
+            ByteBuffer buffer = ByteBuffer.allocate(512);
+            converter.encode(48, -1, buffer);
+            assertEquals("cuarenta y ocho", new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+            assertThrows(IllegalArgumentException.class, () -> converter.encode(49, -1, buffer));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void load_ClassIsNotALanguage_NotInitialized() throws IOException {
+        Path file = Files.createTempFile("untrusted", ".n2td");
+        try {
+            try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+                byte[] className = NotALanguage.class.getName().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(Number2TextDictionary.MAGIC);
+                output.writeInt(Number2TextDictionary.VERSION);
+                output.writeShort(className.length);
+                output.write(className);
+            }
+            assertThrows(IllegalArgumentException.class, () -> Number2TextDictionary.load(file));
+            assertFalse(notALanguageInitialized);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void write_LanguageClass_SameContentAsConverter() throws IOException {
+        Path file = Files.createTempFile("english", ".n2td");
+        Path classFile = Files.createTempFile("english", ".n2td");
+        try {
+            Number2TextDictionary.write(Number2Text.english(), file, 100);
+            Number2TextDictionary.write(EnglishNumber2Text.class.getName(), classFile, 100);
+            assertArrayEquals(Files.readAllBytes(file), Files.readAllBytes(classFile));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(classFile);
+        }
+    }
+
+    @Test
+    void write_ClassIsNotALanguage_NotInitialized() throws IOException {
+        Path file = Files.createTempFile("invalid", ".n2td");
+        try {
+            assertThrows(IllegalArgumentException.class, () -> Number2TextDictionary.write(NotALanguage.class.getName(), file, 0));
+            assertThrows(IllegalArgumentException.class, () -> Number2TextDictionary.write("ni.org.jug.Missing", file, 0));
+            assertFalse(notALanguageInitialized);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void write_NumbersOutOfRange_IllegalArgumentException() throws IOException {
+        Path file = Files.createTempFile("invalid", ".n2td");
+        try {
+            assertThrows(IllegalArgumentException.class, () -> Number2TextDictionary.write(Number2Text.spanish(), file, -1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> Number2TextDictionary.write(Number2Text.spanish(), file, Number2TextDictionary.MAX_NUMBERS + 1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
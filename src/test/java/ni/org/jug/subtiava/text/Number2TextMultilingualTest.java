@@ -0,0 +1,55 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class Number2TextMultilingualTest {
+
+    @Test
+    void convert_SpanishAndEnglish_SameTextAsEachConverter() {
+        Number2TextMultilingual multilingual = Number2TextMultilingual.spanishAndEnglish();
+        assertArrayEquals(new String[]{"un mil quinientos con 45/100", "one thousand five hundred with 45/100"},
+                multilingual.convert(1_500, 45));
+
+        Random random = new Random(20);
+        for (int i = 0; i < 20_000; i++) {
+            long number = i < 2_000 ? i : Math.abs(random.nextLong() % (Number2Text.MAX_VALUE + 1));
+            int decimal = random.nextInt(101) - 1;
+            String[] expected = {Number2Text.spanish().convert(number, decimal), Number2Text.english().convert(number, decimal)};
+            assertArrayEquals(expected, multilingual.convert(number, decimal));
+        }
+
+        BigDecimal amount = new BigDecimal("2001000000.995");
+        assertArrayEquals(new String[]{Number2Text.spanish().convert(amount), Number2Text.english().convert(amount)},
+                multilingual.convert(amount));
+        assertArrayEquals(new String[]{"1000000000000000000", "1000000000000000000"},
+                multilingual.convert(1_000_000_000_000_000_000l));
+    }
+
+    @Test
+    void appendTo_ExistingText_TextAppended() {
+        StringBuilder[] outputs = {new StringBuilder("Monto: "), new StringBuilder("Amount: ")};
+        Number2TextMultilingual.of(Number2Text.spanish(), Number2Text.english()).appendTo(outputs, 21, -1);
+        assertEquals("Monto: veinte y uno", outputs[0].toString());
+        assertEquals("Amount: twenty-one", outputs[1].toString());
+    }
+
+    @Test
+    void of_InvalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> Number2TextMultilingual.of());
+        assertThrows(NullPointerException.class, () -> Number2TextMultilingual.of(Number2Text.spanish(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Number2TextMultilingual.spanishAndEnglish().appendTo(new StringBuilder[]{new StringBuilder()}, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> Number2TextMultilingual.spanishAndEnglish().convert(-1));
+    }
+}
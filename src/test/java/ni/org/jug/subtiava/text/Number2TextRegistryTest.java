@@ -0,0 +1,49 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class Number2TextRegistryTest {
+
+    @Test
+    void of_RegisteredLocales_SharedConverter() {
+        assertSame(Number2Text.spanish(), Number2TextRegistry.of(new Locale("es")));
+        assertSame(Number2Text.spanish(), Number2TextRegistry.of(new Locale("es", "NI")));
+        assertSame(Number2Text.english(), Number2TextRegistry.of(Locale.ENGLISH));
+        assertSame(Number2Text.english(), Number2TextRegistry.of(Locale.US));
+        assertEquals("ciento un mil", Number2TextRegistry.of(new Locale("es", "NI")).convert(101_000));
+
+        assertTrue(Number2TextRegistry.getAvailableLocales().contains(new Locale("es")));
+        assertTrue(Number2TextRegistry.getAvailableLocales().contains(Locale.ENGLISH));
+    }
+
+    @Test
+    void of_RegionalLocales_ConverterOfProvider() {
+        for (Locale locale : Locale.getAvailableLocales()) {
+            if (locale.getLanguage().equals("es")) {
+                assertSame(Number2Text.spanish(), Number2TextRegistry.of(locale), locale.toString());
+            } else if (locale.getLanguage().equals("en")) {
+                assertSame(Number2Text.english(), Number2TextRegistry.of(locale), locale.toString());
+            }
+        }
+        assertSame(Number2Text.spanish(), Number2TextRegistry.of(new Locale("es", "NI", "subtiava")));
+    }
+
+    @Test
+    void of_UnknownLocale_ThrowException() {
+        assertFalse(Number2TextRegistry.find(Locale.JAPANESE).isPresent());
+        assertThrows(IllegalArgumentException.class, () -> Number2TextRegistry.of(Locale.GERMANY));
+        assertThrows(NullPointerException.class, () -> Number2TextRegistry.of(null));
+    }
+}
@@ -2,6 +2,8 @@ package ni.org.jug.subtiava.text;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.util.function.BiFunction;
 
@@ -182,4 +184,31 @@ public class SpanishNumber2TextTest {
         converter = new SpanishNumber2Text(1_001_899, conversionCustomizer);
         assertEquals("** un millon ** un mil ** ochocientos noventa y nueve", converter.toText());
     }
+
+    @Test
+    void appendTo_NumbersWithDecimalFraction_WrittenIntoOutput() throws IOException {
+        StringBuilder output = new StringBuilder("Monto: ");
+        new SpanishNumber2Text(new BigDecimal("1000.745")).appendTo(output);
+        assertEquals("Monto: un mil con 75/100", output.toString());
+
+        Appendable writer = new StringWriter();
+        NumberConversionCustomizer conversionCustomizer = (eventType, conversionType, event, text) -> {
+            if (eventType == EventType.BEFORE && conversionType != ConversionType.MAGNITUDE) {
+                text.append("** ");
+            }
+        };
+        new SpanishNumber2Text(1_001_899, 45, conversionCustomizer).appendTo(writer);
+        assertEquals("** un millon ** un mil ** ochocientos noventa y nueve con 45/100", writer.toString());
+    }
+
+    @Test
+    void toText_DecimalFractionRounding_HalfUp() {
+        assertEquals("cero con 1/100", new SpanishNumber2Text(new BigDecimal("0.005")).toText());
+        assertEquals("cero con 0/100", new SpanishNumber2Text(new BigDecimal("0.0049999")).toText());
+        assertEquals("cero con 0/100", new SpanishNumber2Text(new BigDecimal("0.995")).toText());
+        assertEquals("noventa y nueve con 0/100", new SpanishNumber2Text(new BigDecimal("99.995")).toText());
+        assertEquals("doce con 50/100", new SpanishNumber2Text(new BigDecimal("12.5")).toText());
+        assertEquals("un mil con 0/100", new SpanishNumber2Text(new BigDecimal("1E+3")).toText());
+        assertEquals("cinco mil millones con 0/100", new SpanishNumber2Text(new BigDecimal("5000000000.0000000000000000001")).toText());
+    }
 }
@@ -0,0 +1,90 @@
+package ni.org.jug.subtiava.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class Text2NumberTest {
+
+    @Test
+    void parse_SpanishText_SuccessfulConversion() {
+        Text2Number parser = Text2Number.spanish();
+        assertEquals(0, parser.parse("cero"));
+        assertEquals(3_214_731, parser.parse("tres millones doscientos catorce mil setecientos treinta y uno"));
+        assertEquals(5_000_000_000l, parser.parse("cinco mil millones"));
+        assertEquals(5_001_000_000l, parser.parse("cinco mil un millon"));
+        assertEquals(1_153_625_999_567l, parser.parse("un billon ciento cincuenta y tres mil seiscientos veinte y cinco millones " +
+                "novecientos noventa y nueve mil quinientos sesenta y siete"));
+        assertEquals(1_000_000, parser.parse("Un Millón"));
+        assertEquals(new BigDecimal("45871.94"), parser.parseAmount("cuarenta y cinco mil ochocientos setenta y uno con 94/100"));
+        assertEquals(new BigDecimal("1000"), parser.parseAmount("un mil"));
+    }
+
+    @Test
+    void parse_EnglishText_SuccessfulConversion() {
+        Text2Number parser = Text2Number.english();
+        assertEquals(33_977, parser.parse("thirty-three thousand nine hundred seventy-seven"));
+        assertEquals(5_001_000_000l, parser.parse("five billion one million"));
+        assertEquals(new BigDecimal("1000.75"), parser.parseAmount("one thousand with 75/100"));
+    }
+
+    @Test
+    void parse_InvalidText_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> Text2Number.spanish().parse(""));
+        assertThrows(IllegalArgumentException.class, () -> Text2Number.spanish().parse("tres patos"));
+        assertThrows(IllegalArgumentException.class, () -> Text2Number.spanish().parse("un mil con"));
+        assertThrows(IllegalArgumentException.class, () -> Text2Number.spanish().parse("un mil con 5/10"));
+        assertThrows(IllegalArgumentException.class, () -> Text2Number.english().parse("one thousand with 75/100 dollars"));
+    }
+
+    @Test
+    void parse_MalformedSequence_ThrowException() {
+        String[] spanish = {"dos tres", "cien cien", "treinta cuarenta", "uno cien", "once y uno", "treinta y", "y cinco",
+                "veinte y y uno", "cero uno", "uno cero", "cero mil", "mil", "un mil mil", "un millon un millon",
+                "un millon un billon", "un millon mil millones", "millones", "un mil con"};
+        for (String text : spanish) {
+            assertThrows(IllegalArgumentException.class, () -> Text2Number.spanish().parse(text), text);
+            assertFalse(Text2Number.spanish().matches(text, 5, -1), text);
+        }
+        String[] english = {"five hundred hundred", "twelve hundred", "hundred", "one million one billion", "thirty forty"};
+        for (String text : english) {
+            assertThrows(IllegalArgumentException.class, () -> Text2Number.english().parse(text), text);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Text2Number.spanish().parse("novecientos noventa y nueve mil " +
+                "novecientos noventa y nueve billones"));
+        assertFalse(Text2Number.spanish().matches("dos tres", 5, -1));
+        assertFalse(Text2Number.spanish().matches("cien cien", 200, -1));
+    }
+
+    @Test
+    void matches_RandomNumbers_True() {
+        Random random = new Random(10);
+        for (int i = 0; i < 5_000; i++) {
+            long number = Math.abs(random.nextLong() % (Number2Text.MAX_VALUE + 1)) / (i % 2 == 0 ? 1 : 1_000_000);
+            assertTrue(Text2Number.spanish().matches(Number2Text.spanish().convert(number), number, -1), Long.toString(number));
+            assertTrue(Text2Number.english().matches(Number2Text.english().convert(number, 5), number, 5), Long.toString(number));
+        }
+    }
+
+    @Test
+    void matches_ConvertedNumbers_True() {
+        for (long number = 0; number < 1_000_000; number += 997) {
+            assertTrue(Text2Number.spanish().matches(Number2Text.spanish().convert(number, 45), number, 45));
+            assertTrue(Text2Number.english().matches(Number2Text.english().convert(number), number, -1));
+        }
+        assertFalse(Text2Number.spanish().matches("un mil con 75/100", 1_000, 74));
+        assertFalse(Text2Number.spanish().matches("un mil", 1_000, 0));
+        assertFalse(Text2Number.spanish().matches("one thousand", 1_000, -1));
+        assertFalse(Text2Number.spanish().matches(null, 0, -1));
+    }
+}
@@ -0,0 +1,171 @@
+package ni.org.jug.subtiava.text.tools;
+
+import ni.org.jug.subtiava.text.CedulaBatch;
+import ni.org.jug.subtiava.text.CedulaJoin;
+import ni.org.jug.subtiava.text.Number2TextBatch;
+import ni.org.jug.subtiava.text.Number2TextConverter;
+import ni.org.jug.subtiava.text.Number2TextDictionary;
+import ni.org.jug.subtiava.text.Number2TextRegistry;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * <p>
+ * Punto de entrada para ejecutar los procesos por lotes de la libreria desde la linea de comandos. La libreria no escribe en la
+ * consola ni termina la JVM; este modulo es el unico que lo hace.
+ * </p>
+ * <pre>
+ * java -cp subtiava-1.0-SNAPSHOT.jar:subtiava-tools-1.0-SNAPSHOT.jar ni.org.jug.subtiava.text.tools.Launcher &lt;comando&gt; ...
+ * </pre>
+ * <p>
+ * Comandos:
+ * </p>
+ * <ul>
+ *     <li>{@code amounts <locale> <input> <output> [recordLength]}: convierte a texto los montos de un archivo (ver
+ *     {@link Number2TextBatch})</li>
+ *     <li>{@code dictionary <languageClass> <file> [numbers]}: genera el diccionario de una subclase de
+ *     {@link ni.org.jug.subtiava.text.Number2Text}, con el texto completo de los numeros 0 a {@code numbers - 1} (ver
+ *     {@link Number2TextDictionary})</li>
+ *     <li>{@code cedulas <input> <output>}: valida las cedulas de un archivo e imprime los registros por segundo y la cantidad de
+ *     cedulas de cada motivo (ver {@link CedulaBatch})</li>
+ *     <li>{@code join <left> <right> <BOTH|LEFT_ONLY|RIGHT_ONLY> <output>}: compara dos archivos de cedulas, escribe las cedulas
+ *     del {@link CedulaJoin.Membership} indicado e imprime el avance de cada fase (ver {@link CedulaJoin})</li>
+ * </ul>
+ * <p>
+ * El codigo de salida es {@link #SUCCESS} si el comando termina correctamente, {@link #FAILURE} si falla y {@link #USAGE} si los
+ * argumentos no son validos.
+ * </p>
+ *
+ * @author aalaniz
+ * @version 1.0
+ */
+public final class Launcher {
+    static final int SUCCESS = 0;
+    static final int FAILURE = 1;
+    static final int USAGE = 2;
+
+    private static final String USAGE_TEXT = "Usage: Launcher <command> [arguments]\n" +
+            "Commands:\n" +
+            "  amounts <locale> <input> <output> [recordLength]\n" +
+            "  dictionary <languageClass> <file> [numbers]\n" +
+            "  cedulas <input> <output>\n" +
+            "  join <left> <right> <BOTH|LEFT_ONLY|RIGHT_ONLY> <output>";
+
+    private Launcher() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Ejecuta un comando.
+     *
+     * @param args El nombre del comando y sus argumentos
+     * @param out Destino del resultado del comando
+     * @param err Destino de los mensajes de error
+     * @return El codigo de salida
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        if (args.length == 0) {
+            err.println(USAGE_TEXT);
+            return USAGE;
+        }
+
+        try {
+            switch (args[0]) {
+                case "amounts":
+                    return amounts(args, out, err);
+                case "dictionary":
+                    return dictionary(args, out, err);
+                case "cedulas":
+                    return cedulas(args, out, err);
+                case "join":
+                    return join(args, out, err);
+                default:
+                    err.println("Unknown command [" + args[0] + "]");
+                    err.println(USAGE_TEXT);
+                    return USAGE;
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            err.println("The command [" + args[0] + "] failed: " + ex.getMessage());
+            return FAILURE;
+        }
+    }
+
+    private static int amounts(String[] args, PrintStream out, PrintStream err) throws IOException {
+        if (args.length < 4 || args.length > 5) {
+            err.println("Usage: Launcher amounts <locale> <input> <output> [recordLength]");
+            return USAGE;
+        }
+
+        Number2TextConverter converter = Number2TextRegistry.of(Locale.forLanguageTag(args[1]));
+        int recordLength = args.length == 5 ? parseInt("recordLength", args[4]) : Number2TextBatch.DEFAULT_RECORD_LENGTH;
+        Number2TextBatch.Report report = new Number2TextBatch(converter, recordLength).convert(Paths.get(args[2]), Paths.get(args[3]));
+        out.println(report);
+        return SUCCESS;
+    }
+
+    private static int dictionary(String[] args, PrintStream out, PrintStream err) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            err.println("Usage: Launcher dictionary <languageClass> <file> [numbers]");
+            return USAGE;
+        }
+
+        Path file = Paths.get(args[2]);
+        int numbers = args.length == 4 ? parseInt("numbers", args[3]) : 0;
+        long start = System.nanoTime();
+        Number2TextDictionary.write(args[1], file, numbers);
+        out.printf("Dictionary of [%s] with %d numbers written to [%s] in %.3f s%n", args[1], numbers, file,
+                (System.nanoTime() - start) / 1e9);
+        return SUCCESS;
+    }
+
+    private static int cedulas(String[] args, PrintStream out, PrintStream err) throws IOException {
+        if (args.length != 3) {
+            err.println("Usage: Launcher cedulas <input> <output>");
+            return USAGE;
+        }
+
+        CedulaBatch.Report report = new CedulaBatch().validate(Paths.get(args[1]), Paths.get(args[2]));
+        out.println(report);
+        out.println(report.getSummary());
+        return SUCCESS;
+    }
+
+    private static int join(String[] args, PrintStream out, PrintStream err) throws IOException {
+        if (args.length != 5) {
+            err.println("Usage: Launcher join <left> <right> <BOTH|LEFT_ONLY|RIGHT_ONLY> <output>");
+            return USAGE;
+        }
+
+        CedulaJoin.Membership membership = parseMembership(args[3]);
+        CedulaJoin.Report report = new CedulaJoin().join(Paths.get(args[1]), Paths.get(args[2]), Paths.get(args[4]), membership,
+                (phase, records, elapsedNanos) -> out.printf("%s: %d records in %.3f s%n", phase, records, elapsedNanos / 1e9));
+        out.println(report);
+        return SUCCESS;
+    }
+
+    private static CedulaJoin.Membership parseMembership(String value) {
+        for (CedulaJoin.Membership membership : CedulaJoin.Membership.values()) {
+            if (membership.name().equals(value)) {
+                return membership;
+            }
+        }
+        throw new IllegalArgumentException("[membership] must be one of " + Arrays.toString(CedulaJoin.Membership.values()) +
+                ": " + value);
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("[" + name + "] must be an integer: " + value);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package ni.org.jug.subtiava.text.tools;
+
+import ni.org.jug.subtiava.text.Number2TextDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author aalaniz
+ * @version 1.0
+ */
+public class LauncherTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String... args) {
+        return Launcher.run(args, new PrintStream(out, true), new PrintStream(err, true));
+    }
+
+    private String output(ByteArrayOutputStream stream) {
+        return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void run_InvalidArguments_Usage() {
+        assertEquals(Launcher.USAGE, run());
+        assertEquals(Launcher.USAGE, run("unknown"));
+        assertEquals(Launcher.USAGE, run("amounts", "es"));
+        assertTrue(output(err).startsWith("Usage: Launcher"));
+        assertEquals("", output(out));
+    }
+
+    @Test
+    void run_Amounts_ReportPrinted() throws IOException {
+        Path input = Files.createTempFile("amounts", ".txt");
+        Path output = Files.createTempFile("amounts", ".out");
+        try {
+            Files.write(input, Arrays.asList("1500.75", "21"));
+            assertEquals(Launcher.SUCCESS, run("amounts", "es", input.toString(), output.toString(), "32"));
+            assertTrue(output(out).startsWith("2 records converted in "));
+
+            List<String> records = Files.readAllLines(output);
+            assertEquals(2, records.size());
+            assertEquals("un mil quinientos con 75/100", records.get(0).trim());
+            assertEquals("veinte y uno con 0/100", records.get(1).trim());
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    void run_Dictionary_FileWritten() throws IOException {
+        Path file = Files.createTempFile("spanish", ".n2td");
+        try {
+            assertEquals(Launcher.SUCCESS, run("dictionary", "ni.org.jug.subtiava.text.SpanishNumber2Text", file.toString(), "100"));
+            assertTrue(output(out).startsWith("Dictionary of [ni.org.jug.subtiava.text.SpanishNumber2Text] with 100 numbers"));
+            assertEquals("veinte y uno", Number2TextDictionary.load(file).convert(21));
+
+            assertEquals(Launcher.FAILURE, run("dictionary", "java.lang.String", file.toString()));
+            assertTrue(output(err).startsWith("The command [dictionary] failed: "));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void run_Cedulas_ReportPrinted() throws IOException {
+        Path input = Files.createTempFile("cedulas", ".txt");
+        Path output = Files.createTempFile("cedulas", ".out");
+        try {
+            Files.write(input, Arrays.asList("2811311830009V", "2813111830009V"));
+            assertEquals(Launcher.SUCCESS, run("cedulas", input.toString(), output.toString()));
+
+            String[] lines = output(out).split("\\R");
+            assertTrue(lines[0].startsWith("2 cedulas validated (1 invalid) in "));
+            assertTrue(lines[0].endsWith(" records/s)"));
+            assertTrue(lines[1].startsWith("Validated cedulas: 2, VALID: 1, "));
+            assertEquals(Arrays.asList("2,INVALID_DATE"), Files.readAllLines(output));
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    void run_Join_ProgressAndReportPrinted() throws IOException {
+        Path left = Files.createTempFile("left", ".txt");
+        Path right = Files.createTempFile("right", ".txt");
+        Path output = Files.createTempFile("join", ".out");
+        try {
+            Files.write(left, Arrays.asList("2811311830009V", "0010101800001S"));
+            Files.write(right, Arrays.asList("2811311830009V"));
+            assertEquals(Launcher.SUCCESS, run("join", left.toString(), right.toString(), "BOTH", output.toString()));
+
+            String printed = output(out);
+            assertTrue(printed.contains("SORT: "));
+            assertTrue(printed.contains("MERGE: "));
+            assertTrue(printed.contains("1 cedulas in both files, 1 only in the first, 0 only in the second"));
+            assertEquals(Arrays.asList("2811311830009V"), Files.readAllLines(output));
+
+            assertEquals(Launcher.FAILURE, run("join", left.toString(), right.toString(), "ALL", output.toString()));
+            assertTrue(output(err).startsWith("The command [join] failed: [membership] must be one of"));
+        } finally {
+            Files.deleteIfExists(left);
+            Files.deleteIfExists(right);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    void run_AmountsWithUnknownLocale_Failure() throws IOException {
+        Path input = Files.createTempFile("amounts", ".txt");
+        try {
+            assertEquals(Launcher.FAILURE, run("amounts", "xx", input.toString(), input.toString()));
+            assertTrue(output(err).startsWith("The command [amounts] failed: "));
+        } finally {
+            Files.deleteIfExists(input);
+        }
+    }
+}